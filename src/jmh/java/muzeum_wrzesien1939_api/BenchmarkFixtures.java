@@ -0,0 +1,101 @@
+package muzeum_wrzesien1939_api;
+
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitSummary;
+import muzeum_wrzesien1939_api.media.service.MediaStorageService;
+import muzeum_wrzesien1939_api.versioning.VersionStamp;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic in-memory data for the benchmarks; no Spring context or database is started.
+ */
+public final class BenchmarkFixtures {
+
+    private static final ExhibitCategory[] CATEGORIES = ExhibitCategory.values();
+
+    private BenchmarkFixtures() {
+    }
+
+    public static MediaStorageService mediaStorageService() {
+        MediaStorageService service = new MediaStorageService();
+        setField(service, "baseUrl", "http://localhost:8080/api/v1/media");
+        return service;
+    }
+
+    public static VersionStamp versionStamp() {
+        Instant lastModified = Instant.parse("1939-09-01T04:45:00Z");
+        return new VersionStamp() {
+            @Override
+            public Long getVersion() {
+                return 1L;
+            }
+
+            @Override
+            public Instant getLastModified() {
+                return lastModified;
+            }
+        };
+    }
+
+    public static List<ExhibitSummary> exhibitSummaries(int count) {
+        Random random = new Random(1939);
+        List<ExhibitSummary> summaries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            summaries.add(new ExhibitSummary(
+                    (long) i + 1,
+                    String.format("Eksponat %06d", i),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    String.valueOf(1918 + random.nextInt(28)),
+                    imageHash(random),
+                    description(random, 200)));
+        }
+        return summaries;
+    }
+
+    public static List<Exhibit> exhibits(int count) {
+        Random random = new Random(1939);
+        List<Exhibit> exhibits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            exhibits.add(Exhibit.builder()
+                    .id((long) i + 1)
+                    .name(String.format("Eksponat %06d", i))
+                    .description(description(random, 1500))
+                    .productionYear(String.valueOf(1918 + random.nextInt(28)))
+                    .imageHash(imageHash(random))
+                    .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .build());
+        }
+        return exhibits;
+    }
+
+    public static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String imageHash(Random random) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private static String description(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append("Wrzesień 1939 ").append(random.nextInt(1000)).append(' ');
+        }
+        return text.substring(0, length);
+    }
+}
@@ -0,0 +1,63 @@
+package muzeum_wrzesien1939_api.auth.service;
+
+import muzeum_wrzesien1939_api.BenchmarkFixtures;
+import muzeum_wrzesien1939_api.user.entity.Role;
+import muzeum_wrzesien1939_api.user.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification costs. resolvePrincipalCached is what a client repeating its token pays
+ * in JwtAuthenticationFilter; extractUsername and isTokenValid are full signature checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    private JwtService service;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        service = new JwtService();
+        BenchmarkFixtures.setField(service, "secretKey", Base64.getEncoder().encodeToString(new byte[64]));
+        BenchmarkFixtures.setField(service, "jwtExpiration", Duration.ofDays(1).toMillis());
+        BenchmarkFixtures.setField(service, "verifiedTokenTtl", Duration.ofMinutes(5));
+        BenchmarkFixtures.setField(service, "verifiedTokenCacheSize", 10_000L);
+        service.init();
+
+        user = User.builder()
+                .id(42L)
+                .email("benchmark@muzeum.local")
+                .firstName("Jan")
+                .lastName("Kowalski")
+                .role(Role.ROLE_USER)
+                .build();
+        token = service.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return service.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return service.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return service.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public Object resolvePrincipalCached() {
+        return service.resolvePrincipal(token);
+    }
+}
@@ -0,0 +1,87 @@
+package muzeum_wrzesien1939_api.exhibit.service;
+
+import muzeum_wrzesien1939_api.BenchmarkFixtures;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitSummary;
+import muzeum_wrzesien1939_api.export.ExportWriter;
+import muzeum_wrzesien1939_api.media.service.ImageVariantService;
+import muzeum_wrzesien1939_api.pagination.CursorPage;
+import muzeum_wrzesien1939_api.versioning.VersionStamp;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Walks the whole catalog page by page the way the frontend's fetchAllPages does: cursor decoding,
+ * specification building, summary mapping and cursor encoding. The repository hands out consecutive
+ * slices of the fixture, so the cost measured is the service's own. Filtering happens in the
+ * database, so the stub could not tell a filtered walk from an unfiltered one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExhibitServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int exhibits;
+
+    @Param({"50", "200"})
+    private int pageSize;
+
+    private CatalogSlices slices;
+    private ExhibitService service;
+
+    @Setup
+    public void setUp() {
+        slices = new CatalogSlices(BenchmarkFixtures.exhibitSummaries(exhibits));
+        ExhibitRepository repository = (ExhibitRepository) Proxy.newProxyInstance(
+                ExhibitRepository.class.getClassLoader(), new Class<?>[]{ExhibitRepository.class}, slices);
+
+        // Neither is touched by the page walk
+        service = new ExhibitService(repository, BenchmarkFixtures.mediaStorageService(), mock(ImageVariantService.class),
+                mock(ExportWriter.class));
+    }
+
+    @Benchmark
+    public int walkCatalog() {
+        slices.position = 0;
+        String after = null;
+        int items = 0;
+        do {
+            CursorPage<ExhibitSummaryResponse> page = service.getAllExhibits(null, after, pageSize).body();
+            items += page.getItems().size();
+            slices.position += page.getItems().size();
+            after = page.getNextCursor();
+        } while (after != null);
+        return items;
+    }
+
+    /**
+     * Stands in for the two repository methods a page walk calls; anything else fails loudly.
+     */
+    private static final class CatalogSlices implements InvocationHandler {
+
+        private final List<ExhibitSummary> catalog;
+        private final VersionStamp version = BenchmarkFixtures.versionStamp();
+        private int position;
+
+        private CatalogSlices(List<ExhibitSummary> catalog) {
+            this.catalog = catalog;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "findSummaries" -> catalog.subList(position, Math.min(position + (int) args[1], catalog.size()));
+                case "findCatalogVersionStamp" -> version;
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package muzeum_wrzesien1939_api.exhibition.service;
+
+import muzeum_wrzesien1939_api.BenchmarkFixtures;
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitSummary;
+import muzeum_wrzesien1939_api.exhibition.entity.Exhibition;
+import muzeum_wrzesien1939_api.exhibition.repository.ExhibitionItemSummary;
+import muzeum_wrzesien1939_api.exhibition.repository.ExhibitionRepository;
+import muzeum_wrzesien1939_api.export.ExportWriter;
+import muzeum_wrzesien1939_api.media.service.ImageVariantService;
+import muzeum_wrzesien1939_api.pagination.CursorPage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Response assembly of a single exhibition (mapToResponse over its exhibits) and of a list page
+ * (grouping the batched item summaries by exhibition).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExhibitionServiceBenchmark {
+
+    private static final int EXHIBITIONS_PER_PAGE = 50;
+
+    @Param({"10", "100", "1000"})
+    private int exhibitsPerExhibition;
+
+    private ExhibitionService service;
+
+    @Setup
+    public void setUp() {
+        List<Exhibit> exhibits = BenchmarkFixtures.exhibits(exhibitsPerExhibition);
+        List<ExhibitSummary> summaries = BenchmarkFixtures.exhibitSummaries(exhibitsPerExhibition);
+
+        List<Exhibition> page = new ArrayList<>();
+        List<ExhibitionItemSummary> items = new ArrayList<>();
+        for (long id = 1; id <= EXHIBITIONS_PER_PAGE + 1; id++) {
+            page.add(Exhibition.builder()
+                    .id(id)
+                    .name("Wystawa " + id)
+                    .description("Opis wystawy " + id)
+                    .backgroundImageHash(exhibits.get(0).getImageHash())
+                    .exhibits(exhibits)
+                    .build());
+            for (ExhibitSummary s : summaries) {
+                items.add(new ExhibitionItemSummary(id, s.id(), s.name(), s.category(), s.productionYear(), s.imageHash(), s.excerpt()));
+            }
+        }
+
+        ExhibitionRepository exhibitionRepository = mock(ExhibitionRepository.class);
+        when(exhibitionRepository.findVersionStampById(anyLong())).thenReturn(Optional.of(BenchmarkFixtures.versionStamp()));
+        when(exhibitionRepository.findCatalogVersionStamp()).thenReturn(BenchmarkFixtures.versionStamp());
+        when(exhibitionRepository.findWithExhibitsById(anyLong())).thenReturn(Optional.of(page.get(0)));
+        when(exhibitionRepository.findAllByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(page);
+        when(exhibitionRepository.findItemSummaries(any())).thenReturn(items);
+
+        ExhibitRepository exhibitRepository = mock(ExhibitRepository.class);
+        when(exhibitRepository.findCatalogVersionStamp()).thenReturn(BenchmarkFixtures.versionStamp());
+
+        service = new ExhibitionService(exhibitionRepository, exhibitRepository,
+                BenchmarkFixtures.mediaStorageService(), mock(ImageVariantService.class), mock(ExportWriter.class));
+    }
+
+    @Benchmark
+    public ExhibitionResponse mapToResponse() {
+        return service.getExhibitionById(1L).body();
+    }
+
+    @Benchmark
+    public CursorPage<ExhibitionSummaryResponse> assembleListPage() {
+        return service.getAllExhibitions(null, EXHIBITIONS_PER_PAGE).body();
+    }
+}
@@ -0,0 +1,69 @@
+package muzeum_wrzesien1939_api.reservation.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import muzeum_wrzesien1939_api.export.ExportWriter;
+import muzeum_wrzesien1939_api.reservation.entity.SlotOccupancy;
+import muzeum_wrzesien1939_api.reservation.repository.ReservationRepository;
+import muzeum_wrzesien1939_api.user.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Slot computation for one day and for a month calendar, with every slot holding a counter row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReservationServiceBenchmark {
+
+    private ReservationService service;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup
+    public void setUp() {
+        ReservationSchedule schedule = new ReservationSchedule();
+        from = LocalDate.now().plusDays(1);
+        to = from.plusDays(30);
+
+        Map<LocalDate, Map<LocalTime, SlotOccupancy>> occupancy = new HashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Map<LocalTime, SlotOccupancy> day = new HashMap<>();
+            for (LocalTime time : schedule.slotsOn(date)) {
+                day.put(time, SlotOccupancy.builder()
+                        .visitDate(date)
+                        .visitTime(time)
+                        .bookedGuests(time.getHour())
+                        .capacity(schedule.getSlotCapacity())
+                        .build());
+            }
+            occupancy.put(date, day);
+        }
+
+        SlotOccupancyService slotOccupancyService = mock(SlotOccupancyService.class);
+        when(slotOccupancyService.getOccupancy(any(), any())).thenReturn(occupancy);
+
+        service = new ReservationService(mock(ReservationRepository.class), slotOccupancyService,
+                mock(UserRepository.class), schedule, new SimpleMeterRegistry(), mock(ExportWriter.class));
+    }
+
+    @Benchmark
+    public List<TimeSlotResponse> getAvailableSlots() {
+        return service.getAvailableSlots(from);
+    }
+
+    @Benchmark
+    public List<DayAvailabilityResponse> getMonthAvailability() {
+        return service.getAvailability(from, to);
+    }
+}
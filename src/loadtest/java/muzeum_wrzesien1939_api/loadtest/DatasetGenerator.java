@@ -0,0 +1,372 @@
+package muzeum_wrzesien1939_api.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds the application schema with a reproducible dataset for load tests. The same seed always
+ * produces the same rows, so runs on different machines are comparable.
+ * <p>
+ * The schema must exist (start the application once). Seeded users log in as
+ * {@code loadtest-<n>@muzeum.local} with password {@value #PASSWORD}.
+ * <pre>
+ * ./gradlew seedDataset --args="users=1000 exhibits=20000 exhibitions=300 exhibitsPerExhibition=40
+ *                               reservationYears=3 donations=10000 images=60 seed=1939"
+ * </pre>
+ */
+public final class DatasetGenerator {
+
+    static final String PASSWORD = "loadtest123";
+    static final String EMAIL_PATTERN = "loadtest-%d@muzeum.local";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] CATEGORIES = {"UNIFORMS", "EQUIPMENT", "WEAPONRY", "DOCUMENTS", "PHOTOS", "EVERYDAY_OBJECTS", "OTHER"};
+    private static final String[] DONATION_STATUSES = {"PENDING", "ACCEPTED", "REJECTED"};
+    private static final String[] WORDS = {
+            "hełm", "mundur", "karabin", "maska", "gazowa", "legitymacja", "mapa", "list", "fotografia", "menażka",
+            "bagnet", "orzełek", "szabla", "plecak", "manierka", "odznaka", "rozkaz", "dziennik", "pocztówka", "guzik",
+            "Tychy", "Mikołów", "Pszczyna", "wrzesień", "obrona", "kampania", "piechota", "kawaleria", "saperzy", "łączność"
+    };
+
+    private final LoadTestArgs args;
+    private final Random random;
+    private final Path mediaDir;
+
+    private DatasetGenerator(LoadTestArgs args) {
+        this.args = args;
+        this.random = new Random(args.getLong("seed", 1939));
+        this.mediaDir = Path.of(LoadTestArgs.env("MEDIA_STORAGE_DIR", "./media"));
+    }
+
+    public static void main(String[] argv) throws Exception {
+        LoadTestArgs args = new LoadTestArgs(argv);
+        String url = LoadTestArgs.env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5433/museum_db");
+        String separator = url.contains("?") ? "&" : "?";
+
+        try (Connection connection = DriverManager.getConnection(
+                url + separator + "reWriteBatchedInserts=true",
+                LoadTestArgs.env("SPRING_DATASOURCE_USERNAME", "admin"),
+                LoadTestArgs.env("SPRING_DATASOURCE_PASSWORD", "admin_password"))) {
+            connection.setAutoCommit(false);
+            new DatasetGenerator(args).generate(connection);
+        }
+    }
+
+    private void generate(Connection connection) throws Exception {
+        long started = System.nanoTime();
+
+        List<String> images = generateImages(args.getInt("images", 40));
+        List<Long> users = insertUsers(connection, args.getInt("users", 500));
+        List<Long> exhibits = insertExhibits(connection, args.getInt("exhibits", 10_000), images);
+        insertExhibitions(connection, args.getInt("exhibitions", 200), args.getInt("exhibitsPerExhibition", 30), exhibits, images);
+        insertReservations(connection, users, args.getInt("reservationYears", 2), args.getInt("slotCapacity", 30));
+        insertDonations(connection, users, args.getInt("donations", 5_000), images);
+
+        System.out.printf("Dataset generated in %d s%n", (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    // Archival-photo sized JPEGs written with the media store layout: <dir>/<first two hex chars>/<sha256>
+    private List<String> generateImages(int count) throws IOException {
+        List<String> hashes = new ArrayList<>();
+        long bytes = 0;
+        for (int i = 0; i < count; i++) {
+            int width = 1200 + random.nextInt(1800);
+            int height = width * (3 + random.nextInt(2)) / 4;
+            byte[] jpeg = renderJpeg(width, height);
+
+            String hash = sha256(jpeg);
+            Path target = mediaDir.resolve(hash.substring(0, 2)).resolve(hash);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Files.write(target, jpeg);
+            }
+            hashes.add(hash);
+            bytes += jpeg.length;
+        }
+        System.out.printf("images: %d (avg %d KB) in %s%n", count, count == 0 ? 0 : bytes / count / 1024, mediaDir.toAbsolutePath());
+        return hashes;
+    }
+
+    private List<Long> insertUsers(Connection connection, int count) throws SQLException {
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO users (email, password, first_name, last_name, role)
+                VALUES (?, ?, ?, ?, 'ROLE_USER')
+                ON CONFLICT (email) DO NOTHING
+                """)) {
+            for (int i = 0; i < count; i++) {
+                insert.setString(1, EMAIL_PATTERN.formatted(i));
+                insert.setString(2, passwordHash);
+                insert.setString(3, "Jan" + i);
+                insert.setString(4, "Testowy");
+                insert.addBatch();
+                flushEvery(insert, i);
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement("SELECT id FROM users WHERE email LIKE 'loadtest-%@muzeum.local' ORDER BY id");
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        System.out.printf("users: %d%n", ids.size());
+        return ids;
+    }
+
+    private List<Long> insertExhibits(Connection connection, int count, List<String> images) throws SQLException {
+        List<Long> ids = new ArrayList<>(count);
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO exhibits (name, description, production_year, image_hash, category, version, updated_at)
+                VALUES (?, ?, ?, ?, ?, 0, now())
+                """, new String[]{"id"})) {
+            for (int i = 0; i < count; i++) {
+                insert.setString(1, capitalize(sentence(2 + random.nextInt(3))) + " nr " + i);
+                insert.setString(2, sentence(20 + random.nextInt(180)));
+                insert.setString(3, String.valueOf(1918 + random.nextInt(28)));
+                insert.setString(4, images.isEmpty() || random.nextInt(10) == 0 ? null : pick(images));
+                insert.setString(5, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i == count - 1) {
+                    insert.executeBatch();
+                    collectKeys(insert, ids);
+                }
+            }
+        }
+        connection.commit();
+        System.out.printf("exhibits: %d%n", ids.size());
+        return ids;
+    }
+
+    private void insertExhibitions(Connection connection, int count, int perExhibition, List<Long> exhibits,
+                                   List<String> images) throws SQLException {
+        List<Long> ids = new ArrayList<>(count);
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO exhibitions (name, description, background_image_hash, version, updated_at)
+                VALUES (?, ?, ?, 0, now())
+                """, new String[]{"id"})) {
+            for (int i = 0; i < count; i++) {
+                insert.setString(1, "Wystawa: " + sentence(3) + " " + i);
+                insert.setString(2, sentence(40 + random.nextInt(120)));
+                insert.setString(3, images.isEmpty() ? null : pick(images));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            collectKeys(insert, ids);
+        }
+
+        int links = 0;
+        try (PreparedStatement link = connection.prepareStatement(
+                "INSERT INTO exhibition_exhibits (exhibition_id, exhibit_id) VALUES (?, ?)")) {
+            for (Long exhibitionId : ids) {
+                int size = Math.min(exhibits.size(), perExhibition / 2 + random.nextInt(perExhibition + 1));
+                int start = exhibits.isEmpty() ? 0 : random.nextInt(exhibits.size());
+                for (int j = 0; j < size; j++) {
+                    link.setLong(1, exhibitionId);
+                    link.setLong(2, exhibits.get((start + j) % exhibits.size()));
+                    link.addBatch();
+                    flushEvery(link, links++);
+                }
+            }
+            link.executeBatch();
+        }
+        connection.commit();
+        System.out.printf("exhibitions: %d, links: %d%n", ids.size(), links);
+    }
+
+    // Opening hours of the default schedule; every slot stays within capacity
+    private void insertReservations(Connection connection, List<Long> users, int years, int capacity) throws SQLException {
+        if (users.isEmpty()) {
+            return;
+        }
+        LocalDate from = LocalDate.now().minusYears(years);
+        LocalDate to = LocalDate.now().plusMonths(2);
+
+        int count = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO reservations (visit_date, visit_time, number_of_guests, user_id) VALUES (?, ?, ?, ?)")) {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                for (LocalTime time = LocalTime.of(10, 0); !time.isAfter(LocalTime.of(15, 0)); time = time.plusHours(1)) {
+                    int booked = 0;
+                    int reservations = random.nextInt(6);
+                    for (int r = 0; r < reservations; r++) {
+                        int guests = 1 + random.nextInt(5);
+                        if (booked + guests > capacity) {
+                            break;
+                        }
+                        booked += guests;
+                        insert.setDate(1, Date.valueOf(date));
+                        insert.setTime(2, Time.valueOf(time));
+                        insert.setInt(3, guests);
+                        insert.setLong(4, pick(users));
+                        insert.addBatch();
+                        flushEvery(insert, count++);
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+
+        // Counters the booking path relies on, derived from what was just inserted
+        try (PreparedStatement counters = connection.prepareStatement("""
+                INSERT INTO slot_occupancy (visit_date, visit_time, booked_guests, capacity)
+                SELECT visit_date, visit_time, SUM(number_of_guests), ?
+                FROM reservations
+                GROUP BY visit_date, visit_time
+                ON CONFLICT (visit_date, visit_time) DO UPDATE SET booked_guests = EXCLUDED.booked_guests
+                """)) {
+            counters.setInt(1, capacity);
+            counters.executeUpdate();
+        }
+        connection.commit();
+        System.out.printf("reservations: %d (%s .. %s)%n", count, from, to);
+    }
+
+    private void insertDonations(Connection connection, List<Long> users, int count, List<String> images) throws SQLException {
+        if (users.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO donations (item_name, description, image_hash, status, user_id, created_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """)) {
+            for (int i = 0; i < count; i++) {
+                insert.setString(1, capitalize(sentence(2 + random.nextInt(3))));
+                insert.setString(2, sentence(10 + random.nextInt(60)));
+                insert.setString(3, images.isEmpty() ? null : pick(images));
+                insert.setString(4, DONATION_STATUSES[random.nextInt(DONATION_STATUSES.length)]);
+                insert.setLong(5, pick(users));
+                insert.setTimestamp(6, Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 365 * 3))));
+                insert.addBatch();
+                flushEvery(insert, i);
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        System.out.printf("donations: %d%n", count);
+    }
+
+    private byte[] renderJpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setPaint(new GradientPaint(0, 0, randomSepia(), width, height, randomSepia()));
+            graphics.fillRect(0, 0, width, height);
+            for (int i = 0; i < 400; i++) {
+                graphics.setColor(randomSepia());
+                graphics.fillOval(random.nextInt(width), random.nextInt(height), 5 + random.nextInt(width / 6), 5 + random.nextInt(height / 6));
+            }
+        } finally {
+            graphics.dispose();
+        }
+        // Film grain keeps the file size close to a real scan instead of a flat gradient
+        for (int i = 0; i < width * height / 4; i++) {
+            int x = random.nextInt(width);
+            int y = random.nextInt(height);
+            int shade = random.nextInt(40) - 20;
+            int rgb = image.getRGB(x, y);
+            int r = clamp(((rgb >> 16) & 0xFF) + shade);
+            int g = clamp(((rgb >> 8) & 0xFF) + shade);
+            int b = clamp((rgb & 0xFF) + shade);
+            image.setRGB(x, y, (r << 16) | (g << 8) | b);
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.9f);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private Color randomSepia() {
+        int base = 60 + random.nextInt(180);
+        return new Color(clamp(base + 30), clamp(base + 10), clamp(base - 20));
+    }
+
+    private String sentence(int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static void flushEvery(PreparedStatement statement, int index) throws SQLException {
+        if ((index + 1) % BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+    }
+
+    private static void collectKeys(Statement statement, List<Long> ids) throws SQLException {
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids.add(keys.getLong(1));
+            }
+        }
+    }
+
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package muzeum_wrzesien1939_api.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencies and outcomes of one endpoint as seen by a single client. Not thread-safe: every client owns
+ * its recorders and they are merged once the run is over, so recording never contends.
+ */
+final class LatencyRecorder {
+
+    private long[] latenciesMicros = new long[1024];
+    private int count;
+    private long errors;
+    private long rejected;
+
+    void record(long latencyNanos, int status) {
+        if (count == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+        }
+        latenciesMicros[count++] = latencyNanos / 1_000;
+        if (status == 409) {
+            rejected++;
+        } else if (status < 200 || status >= 400) {
+            errors++;
+        }
+    }
+
+    void recordFailure(long latencyNanos) {
+        record(latencyNanos, 0);
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count + other.count);
+        }
+        System.arraycopy(other.latenciesMicros, 0, latenciesMicros, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        rejected += other.rejected;
+    }
+
+    Map<String, Object> summary(double seconds) {
+        long[] sorted = Arrays.copyOf(latenciesMicros, count);
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("throughputPerSecond", round(count / seconds));
+        summary.put("errors", errors);
+        summary.put("errorRatePercent", count == 0 ? 0.0 : round(100.0 * errors / count));
+        summary.put("rejected", rejected);
+        summary.put("p50Ms", percentileMillis(sorted, 0.50));
+        summary.put("p90Ms", percentileMillis(sorted, 0.90));
+        summary.put("p99Ms", percentileMillis(sorted, 0.99));
+        summary.put("maxMs", sorted.length == 0 ? 0.0 : round(sorted[sorted.length - 1] / 1000.0));
+        return summary;
+    }
+
+    // Nearest-rank percentile
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return round(sorted[Math.max(0, rank - 1)] / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,290 @@
+package muzeum_wrzesien1939_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-model HTTP load driver: {@code clients} virtual-thread clients each send a request, wait for the
+ * response and immediately send the next one, picking the scenario from a weighted mix. Requests sent
+ * during the warmup are not recorded.
+ * <p>
+ * Works against a database seeded by {@link DatasetGenerator}. Results are printed and written as JSON to
+ * {@code build/reports/loadtest/<label>-<timestamp>.json}, so runs in platform and virtual-thread mode can be diffed.
+ * <pre>
+ * ./gradlew loadTest --args="baseUrl=http://localhost:8080 clients=200 warmup=60s duration=120s label=platform
+ *                            mix=exhibits:35,search:10,exhibitions:15,slots:10,availability:10,booking:15,login:5"
+ * </pre>
+ */
+public final class LoadDriver {
+
+    private static final String DEFAULT_MIX = "exhibits:35,search:10,exhibitions:15,slots:10,availability:10,booking:15,login:5";
+    private static final String[] SEARCH_TERMS = {"karabin", "hełm", "mundur", "mapa", "fotografia", "Tychy", "odznaka", "list"};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final HttpClient http;
+    private final String baseUrl;
+    private final int users;
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+    private final List<String[]> openSlots = new ArrayList<>();
+
+    private volatile long recordFrom;
+    private volatile long stopAt;
+
+    private LoadDriver(LoadTestArgs args) {
+        this.baseUrl = args.getString("baseUrl", "http://localhost:8080");
+        this.users = args.getInt("users", 500);
+        this.mix = parseMix(args.getString("mix", DEFAULT_MIX));
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] argv) throws Exception {
+        LoadTestArgs args = new LoadTestArgs(argv);
+        new LoadDriver(args).run(args);
+    }
+
+    private void run(LoadTestArgs args) throws Exception {
+        int clients = args.getInt("clients", 50);
+        Duration warmup = args.getDuration("warmup", Duration.ofSeconds(60));
+        Duration duration = args.getDuration("duration", Duration.ofSeconds(120));
+
+        loadOpenSlots();
+        System.out.printf("%d clients, warmup %s, measured %s, mix %s, %d open slots%n",
+                clients, warmup, duration, mix, openSlots.size());
+
+        long start = System.nanoTime();
+        recordFrom = start + warmup.toNanos();
+        stopAt = recordFrom + duration.toNanos();
+
+        List<Future<Map<String, LatencyRecorder>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int clientId = i;
+                results.add(executor.submit(() -> runClient(clientId)));
+            }
+        }
+
+        Map<String, LatencyRecorder> merged = new TreeMap<>();
+        for (Future<Map<String, LatencyRecorder>> result : results) {
+            result.get().forEach((endpoint, recorder) ->
+                    merged.computeIfAbsent(endpoint, e -> new LatencyRecorder()).merge(recorder));
+        }
+        report(args, clients, warmup, duration, merged);
+    }
+
+    private Map<String, LatencyRecorder> runClient(int clientId) {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String email = DatasetGenerator.EMAIL_PATTERN.formatted(clientId % users);
+        String token = login(email, recorders);
+
+        while (System.nanoTime() < stopAt) {
+            switch (pickScenario(random)) {
+                case "exhibits" -> {
+                    JsonNode page = get("exhibits-list", "/api/v1/exhibits?limit=50", null, recorders);
+                    String cursor = page == null ? null : page.path("nextCursor").asText(null);
+                    if (cursor != null) {
+                        get("exhibits-next-page", "/api/v1/exhibits?limit=50&after=" + encode(cursor), null, recorders);
+                    }
+                }
+                case "search" -> get("exhibits-search",
+                        "/api/v1/exhibits/search?q=" + encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]), null, recorders);
+                case "exhibitions" -> get("exhibitions-list", "/api/v1/exhibitions?limit=20", null, recorders);
+                case "slots" -> get("available-slots",
+                        "/api/v1/reservations/available-slots?date=" + LocalDate.now().plusDays(1 + random.nextInt(60)), token, recorders);
+                case "availability" -> {
+                    LocalDate from = LocalDate.now().plusDays(random.nextInt(30));
+                    get("availability", "/api/v1/reservations/availability?from=" + from + "&to=" + from.plusDays(30), token, recorders);
+                }
+                case "booking" -> book(token, random, recorders);
+                case "login" -> token = login(email, recorders);
+                default -> throw new IllegalStateException();
+            }
+        }
+        return recorders;
+    }
+
+    private String login(String email, Map<String, LatencyRecorder> recorders) {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + DatasetGenerator.PASSWORD + "\"}";
+        JsonNode response = send("login", post("/api/v1/auth/authenticate", body, null), recorders);
+        return response == null ? null : response.path("token").asText(null);
+    }
+
+    // A full slot answers 409; it is counted as rejected, not as an error
+    private void book(String token, ThreadLocalRandom random, Map<String, LatencyRecorder> recorders) {
+        if (openSlots.isEmpty()) {
+            return;
+        }
+        String[] slot = openSlots.get(random.nextInt(openSlots.size()));
+        String body = "{\"date\":\"" + slot[0] + "\",\"time\":\"" + slot[1] + "\",\"numberOfGuests\":" + (1 + random.nextInt(4)) + "}";
+        send("booking", post("/api/v1/reservations", body, token), recorders);
+    }
+
+    private JsonNode get(String endpoint, String path, String token, Map<String, LatencyRecorder> recorders) {
+        return send(endpoint, request(path, token).GET().build(), recorders);
+    }
+
+    private HttpRequest post(String path, String body, String token) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode send(String endpoint, HttpRequest request, Map<String, LatencyRecorder> recorders) {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long finished = System.nanoTime();
+            if (started >= recordFrom && finished <= stopAt) {
+                recorders.computeIfAbsent(endpoint, e -> new LatencyRecorder()).record(finished - started, response.statusCode());
+            }
+            return response.statusCode() / 100 == 2 && response.body().length > 0 && response.body()[0] == '{'
+                    ? json.readTree(response.body())
+                    : null;
+        } catch (IOException e) {
+            long finished = System.nanoTime();
+            if (started >= recordFrom && finished <= stopAt) {
+                recorders.computeIfAbsent(endpoint, k -> new LatencyRecorder()).recordFailure(finished - started);
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // Bookings only target slots the schedule opens, so a 400 always means a real failure
+    private void loadOpenSlots() throws IOException, InterruptedException {
+        String token = null;
+        HttpResponse<String> login = http.send(post("/api/v1/auth/authenticate",
+                        "{\"email\":\"" + DatasetGenerator.EMAIL_PATTERN.formatted(0) + "\",\"password\":\"" + DatasetGenerator.PASSWORD + "\"}", null),
+                HttpResponse.BodyHandlers.ofString());
+        if (login.statusCode() == 200) {
+            token = json.readTree(login.body()).path("token").asText(null);
+        }
+        if (token == null) {
+            throw new IllegalStateException("Login of seeded user failed (" + login.statusCode() + "); run ./gradlew seedDataset first");
+        }
+
+        LocalDate from = LocalDate.now().plusDays(1);
+        HttpResponse<String> response = http.send(request("/api/v1/reservations/availability?from=" + from + "&to=" + from.plusDays(60), token).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        for (JsonNode day : json.readTree(response.body())) {
+            if (!day.path("open").asBoolean()) {
+                continue;
+            }
+            for (JsonNode slot : day.path("slots")) {
+                openSlots.add(new String[]{day.path("date").asText(), slot.path("time").asText()});
+            }
+        }
+    }
+
+    private String pickScenario(ThreadLocalRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private void report(LoadTestArgs args, int clients, Duration warmup, Duration duration,
+                        Map<String, LatencyRecorder> recorders) throws IOException {
+        double seconds = duration.toMillis() / 1000.0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        LatencyRecorder total = new LatencyRecorder();
+        recorders.forEach((endpoint, recorder) -> {
+            endpoints.put(endpoint, recorder.summary(seconds));
+            total.merge(recorder);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", args.getString("label", "run"));
+        report.put("timestamp", Instant.now().toString());
+        report.put("baseUrl", baseUrl);
+        report.put("clients", clients);
+        report.put("warmupSeconds", warmup.toSeconds());
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("mix", mix);
+        report.put("total", total.summary(seconds));
+        report.put("endpoints", endpoints);
+
+        System.out.printf("%n%-20s %10s %10s %8s %8s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "err%", "409", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        endpoints.forEach((endpoint, summary) -> printRow(endpoint, summary));
+        printRow("TOTAL", report.get("total"));
+
+        Path dir = Path.of(args.getString("reportDir", "build/reports/loadtest"));
+        Files.createDirectories(dir);
+        String stamp = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").format(LocalDateTime.now());
+        Path file = dir.resolve(report.get("label") + "-" + stamp + ".json");
+        json.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        System.out.println("\nReport: " + file.toAbsolutePath());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printRow(String endpoint, Object value) {
+        Map<String, Object> s = (Map<String, Object>) value;
+        System.out.printf("%-20s %10s %10s %8s %8s %9s %9s %9s %9s%n", endpoint, s.get("requests"), s.get("throughputPerSecond"),
+                s.get("errorRatePercent"), s.get("rejected"), s.get("p50Ms"), s.get("p90Ms"), s.get("p99Ms"), s.get("maxMs"));
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            int weight = Integer.parseInt(kv[1]);
+            if (weight > 0) {
+                mix.put(kv[0], weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Scenario mix is empty");
+        }
+        return mix;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
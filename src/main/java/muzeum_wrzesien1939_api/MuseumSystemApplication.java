@@ -2,8 +2,10 @@ package muzeum_wrzesien1939_api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class MuseumSystemApplication {
 
 	public static void main(String[] args) {
@@ -1,17 +1,28 @@
 package muzeum_wrzesien1939_api.auth.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import muzeum_wrzesien1939_api.user.entity.Role;
+import muzeum_wrzesien1939_api.user.entity.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Service
@@ -23,6 +34,30 @@ public class JwtService {
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${application.security.jwt.cache-ttl}")
+    private Duration verifiedTokenTtl;
+
+    @Value("${application.security.jwt.cache-size}")
+    private long verifiedTokenCacheSize;
+
+    // Decoded once; the parser is immutable and thread-safe
+    private SecretKey signInKey;
+    private JwtParser parser;
+
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfterWrite(verifiedTokenTtl)
+                .build();
+    }
+
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> extraClaims = new HashMap<>();
 
@@ -45,10 +80,51 @@ public class JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
+    /**
+     * Verifies the token and turns its claims into the request principal without touching the database.
+     * Verified tokens are cached for a short time, so a client sending the same token repeatedly
+     * costs one HMAC check per cache period. Returns empty for invalid, expired or pre-claims tokens.
+     */
+    @Timed(value = "museum.jwt.verify", description = "Token verification per request, cached or not")
+    public Optional<User> resolvePrincipal(String token) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(Instant.now())) {
+                return Optional.of(cached.principal());
+            }
+            verifiedTokens.invalidate(token);
+            return Optional.empty();
+        }
+
+        final Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        String role = claims.get("role", String.class);
+        Number userId = claims.get("userId", Number.class);
+        if (role == null || userId == null || claims.getExpiration() == null) {
+            return Optional.empty();
+        }
+
+        User principal = User.builder()
+                .id(userId.longValue())
+                .email(claims.getSubject())
+                .firstName(claims.get("firstName", String.class))
+                .lastName(claims.get("lastName", String.class))
+                .role(Role.valueOf(role))
+                .build();
+
+        verifiedTokens.put(token, new VerifiedToken(principal, claims.getExpiration().toInstant()));
+        return Optional.of(principal);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -59,28 +135,17 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
+    // The parser already rejects expired tokens, so a single parse covers both checks
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private record VerifiedToken(User principal, Instant expiresAt) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package muzeum_wrzesien1939_api.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * In-memory cache for the public catalog. Entries are evicted by the admin write paths in
+ * ExhibitService/ExhibitionService; the TTL only bounds staleness of anything missed.
+ * Hit/miss/eviction counters are exported by Actuator as cache.* metrics.
+ * The cache advice runs outside the transaction advice, so a hit never borrows a pooled connection.
+ * Caches are transaction-aware: a put or evict issued inside a surrounding transaction (e.g. creating
+ * the exhibit when a donation is promoted) waits until that transaction commits and is dropped on rollback.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String EXHIBITS = "exhibits";
+    public static final String EXHIBIT_PAGES = "exhibit-pages";
+    public static final String EXHIBITIONS = "exhibitions";
+    public static final String EXHIBITION_PAGES = "exhibition-pages";
+
+    @Value("${application.cache.catalog-ttl}")
+    private Duration catalogTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Single entities are small; pages hold up to CursorPage.MAX_LIMIT items each
+        cacheManager.registerCustomCache(EXHIBITS, catalogCache(5_000).build());
+        cacheManager.registerCustomCache(EXHIBIT_PAGES, catalogCache(500).build());
+        cacheManager.registerCustomCache(EXHIBITIONS, catalogCache(500).build());
+        cacheManager.registerCustomCache(EXHIBITION_PAGES, catalogCache(100).build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private Caffeine<Object, Object> catalogCache(long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(catalogTtl)
+                .recordStats();
+    }
+}
@@ -0,0 +1,39 @@
+package muzeum_wrzesien1939_api.config;
+
+import muzeum_wrzesien1939_api.monitoring.StatementCountingListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the pooled DataSource so every statement passes through {@link StatementCountingListener}.
+ * Replaces spring.jpa.show-sql: nothing is printed unless a statement is slow.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    // static: a post-processor must not pull the rest of the configuration into early initialisation
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(
+            @Value("${application.db.slow-query-threshold}") Duration slowQueryThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the application-facing DataSource; the pools behind replica routing are counted through it
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new StatementCountingListener(slowQueryThreshold.toMillis()))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
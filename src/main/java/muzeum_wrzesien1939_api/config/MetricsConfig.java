@@ -0,0 +1,20 @@
+package muzeum_wrzesien1939_api.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Timed} on service methods. Every museum.* timer is published with a percentile
+ * histogram (see management.metrics.distribution in application.properties) and scraped from
+ * {@code /actuator/prometheus}; HTTP, Hikari and Hibernate meters come from Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
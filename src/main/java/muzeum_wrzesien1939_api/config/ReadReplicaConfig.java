@@ -0,0 +1,60 @@
+package muzeum_wrzesien1939_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import muzeum_wrzesien1939_api.datasource.ReadYourWritesTracker;
+import muzeum_wrzesien1939_api.datasource.ReplicaPool;
+import muzeum_wrzesien1939_api.datasource.ReplicaProperties;
+import muzeum_wrzesien1939_api.datasource.ReplicaRoutingDataSource;
+import muzeum_wrzesien1939_api.datasource.WriteTrackingDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Sends read-only transactions to the replicas listed in {@code application.datasource.replicas.urls}
+ * and everything else to the primary. Without replicas this configuration is skipped and Spring Boot
+ * creates the single pool as before.
+ * <p>
+ * The lazy proxy postpones fetching a physical connection until the first statement. By then the
+ * transaction manager has marked the connection read-only, and the proxy picks its read-only target.
+ */
+@Configuration
+@ConditionalOnExpression("!'${application.datasource.replicas.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(ReplicaProperties properties, HikariDataSource primaryDataSource, MeterRegistry meterRegistry) {
+        return new ReplicaPool(properties, primaryDataSource, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties properties) {
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool, ReadYourWritesTracker tracker) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy();
+        routing.setTargetDataSource(new WriteTrackingDataSource(primaryDataSource, tracker));
+        routing.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource, replicaPool, tracker));
+        // Known up front, so the proxy does not borrow a connection just to read the defaults
+        routing.setDefaultAutoCommit(primaryDataSource.isAutoCommit());
+        routing.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return routing;
+    }
+}
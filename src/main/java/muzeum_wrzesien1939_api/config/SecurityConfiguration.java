@@ -1,5 +1,6 @@
 package muzeum_wrzesien1939_api.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -13,6 +14,8 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -36,6 +39,8 @@ public class SecurityConfiguration {
 
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Completes a streamed export (StreamingResponseBody) that was authorized on its first dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers(
                                 "/v3/api-docs/**",
@@ -44,6 +49,10 @@ public class SecurityConfiguration {
                         ).permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/exhibits/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/exhibitions/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/media/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers(prometheusOnManagementPort()).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -54,6 +63,15 @@ public class SecurityConfiguration {
         return http.build();
     }
 
+    @Value("${management.server.port}")
+    private int managementPort;
+
+    // Prometheus scrapes without a token, so metrics are only public on the (unpublished) management port
+    private RequestMatcher prometheusOnManagementPort() {
+        RequestMatcher path = AntPathRequestMatcher.antMatcher("/actuator/prometheus");
+        return request -> request.getLocalPort() == managementPort && path.matches(request);
+    }
+
     @Value("${ALLOWED_ORIGINS:http://localhost:3000,http://localhost:5173}")
     private String allowedOrigins;
 
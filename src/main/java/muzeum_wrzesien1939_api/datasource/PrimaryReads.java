@@ -0,0 +1,43 @@
+package muzeum_wrzesien1939_api.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends the read-only queries run inside {@link #call} to the primary. Meant for reads whose
+ * result outlives the request, such as the catalog caches: a page read from a lagging replica right
+ * after an admin's write would otherwise be cached and served for the whole TTL. Also for background
+ * work that has to see rows another thread has just committed, like the donation review pipeline.
+ * <p>
+ * Connections are picked at the first statement, so this also works inside a read-only transaction
+ * that has already begun but has not queried anything yet.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        boolean outermost = ACTIVE.get() == null;
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (outermost) {
+                ACTIVE.remove();
+            }
+        }
+    }
+
+    public static void run(Runnable reads) {
+        call(() -> {
+            reads.run();
+            return null;
+        });
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+}
@@ -0,0 +1,125 @@
+package muzeum_wrzesien1939_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pools of the read replicas with their health. A replica is used round-robin while it
+ * answers and stays within the lag limit; one that fails a connection attempt is skipped until the
+ * next health check finds it healthy again.
+ */
+@Slf4j
+public class ReplicaPool implements DisposableBean {
+
+    // 0 on a primary or a fully replayed standby; otherwise the age of the last replayed transaction
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(ReplicaProperties properties, HikariDataSource primary, MeterRegistry meterRegistry) {
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+        for (int i = 0; i < properties.getUrls().size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(primary.getPoolName() + "-replica-" + i);
+            pool.setJdbcUrl(properties.getUrls().get(i).trim());
+            pool.setUsername(properties.getUsername() != null ? properties.getUsername() : primary.getUsername());
+            pool.setPassword(properties.getPassword() != null ? properties.getPassword() : primary.getPassword());
+            pool.setDriverClassName(primary.getDriverClassName());
+            pool.setDataSourceProperties(primary.getDataSourceProperties());
+            pool.setAutoCommit(primary.isAutoCommit());
+            pool.setReadOnly(true);
+            pool.setMaximumPoolSize(properties.getPoolSize());
+            pool.setMinimumIdle(properties.getPoolSize());
+            // Falling back to the primary beats waiting on a replica that cannot hand out connections
+            pool.setConnectionTimeout(2_000);
+            // Start without connecting, an unreachable replica must not block startup
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new Replica(pool));
+        }
+    }
+
+    /**
+     * A connection from the next healthy replica, or null when none can serve reads.
+     */
+    public Connection borrow() {
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${application.datasource.replicas.health-check-interval}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet lag = statement.executeQuery(LAG_QUERY)) {
+                lag.next();
+                long lagMillis = Math.round(lag.getDouble(1) * 1000);
+                if (lagMillis > maxLagMillis) {
+                    markDown(replica, "replication lag " + lagMillis + " ms");
+                } else if (!replica.healthy) {
+                    log.info("Replica {} is serving reads again", replica.pool.getPoolName());
+                    replica.healthy = true;
+                }
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    public int healthyCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            log.warn("Replica {} taken out of rotation, reads go to the primary: {}", replica.pool.getPoolName(), reason);
+            replica.healthy = false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package muzeum_wrzesien1939_api.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas bound from {@code application.datasource.replicas.*}. Routing is enabled only when
+ * at least one URL is configured; credentials and driver settings default to the primary's.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.datasource.replicas")
+public class ReplicaProperties {
+
+    private List<String> urls = new ArrayList<>();
+
+    private String username;
+
+    private String password;
+
+    private int poolSize = 10;
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    // A replica further behind than this is skipped until it catches up
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    // How long a user's reads stay on the primary after they committed a write
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+}
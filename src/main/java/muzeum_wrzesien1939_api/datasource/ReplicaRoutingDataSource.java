@@ -0,0 +1,42 @@
+package muzeum_wrzesien1939_api.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Target of read-only transactions: a healthy replica, or the primary when the current user has
+ * just written, the reads are marked with {@link PrimaryReads} or no replica is available.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaPool replicas;
+    private final ReadYourWritesTracker tracker;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicas, ReadYourWritesTracker tracker) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!PrimaryReads.isActive() && !tracker.hasRecentWrite(ReadYourWritesTracker.currentUser())) {
+            Connection replica = replicas.borrow();
+            if (replica != null) {
+                return replica;
+            }
+        }
+        Connection connection = primary.getConnection();
+        connection.setReadOnly(true);
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Replica routing uses the configured credentials");
+    }
+}
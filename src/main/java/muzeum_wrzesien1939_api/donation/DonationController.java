@@ -7,9 +7,14 @@ import muzeum_wrzesien1939_api.donation.entity.DonationStatus;
 import muzeum_wrzesien1939_api.donation.service.DonationRequest;
 import muzeum_wrzesien1939_api.donation.service.DonationResponse;
 import muzeum_wrzesien1939_api.donation.service.DonationService;
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+import muzeum_wrzesien1939_api.export.ExportFormat;
+import muzeum_wrzesien1939_api.export.ExportResponses;
+import muzeum_wrzesien1939_api.pagination.CursorPage;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -33,22 +38,38 @@ public class DonationController {
         return ResponseEntity.ok(service.getMyDonations());
     }
 
-    @Operation(summary = "Get all donations", description = "Admin sees all donations (can filter by status).")
+    @Operation(summary = "Get all donations", description = "Admin sees all donations, newest first (can filter by status). Pass nextCursor as 'after' for the next page.")
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<List<DonationResponse>> getAllDonations(
-            @RequestParam(required = false) DonationStatus status
+    public ResponseEntity<CursorPage<DonationResponse>> getAllDonations(
+            @RequestParam(required = false) DonationStatus status,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
     ) {
-        return ResponseEntity.ok(service.getDonations(status));
+        return ResponseEntity.ok(service.getDonations(status, after, limit));
     }
 
-    @Operation(summary = "Update donation status", description = "Admin accepts or rejects the donation.")
+    @Operation(summary = "Update donation status", description = "Admin accepts or rejects the donation. "
+            + "With status=ACCEPTED and promote=true the donation is also added to the catalog as a new exhibit of the given category (default OTHER).")
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}/status")
     public ResponseEntity<DonationResponse> updateStatus(
             @PathVariable Long id,
-            @RequestParam DonationStatus status
+            @RequestParam DonationStatus status,
+            @RequestParam(defaultValue = "false") boolean promote,
+            @RequestParam(required = false) ExhibitCategory category
     ) {
-        return ResponseEntity.ok(service.updateStatus(id, status));
+        return ResponseEntity.ok(service.updateStatus(id, status, promote, category));
+    }
+
+    @Operation(summary = "Export donations", description = "Streams all donations as NDJSON (default) or CSV (format=csv) without loading them into memory (ADMIN only). With spreadsheet=true the CSV is safe to open in a spreadsheet (cells starting with =, +, - or @ get a ' prefix) but no longer suitable for re-import.")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDonations(
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean spreadsheet
+    ) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format, spreadsheet);
+        return ExportResponses.attachment("donations", exportFormat, out -> service.exportDonations(exportFormat, out));
     }
 }
\ No newline at end of file
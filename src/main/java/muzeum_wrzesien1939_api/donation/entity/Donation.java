@@ -28,9 +28,9 @@ public class Donation {
     @Column(length = 2000)
     private String description;
 
-    //TODO maybe use binary image data
-    @Column(columnDefinition = "TEXT")
-    private String imageUrl;
+    // SHA-256 of the image in the media store
+    @Column(length = 64)
+    private String imageHash;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -42,4 +42,12 @@ public class Donation {
 
     @CreationTimestamp
     private LocalDateTime createdAt;
+
+    // Filled in by the review pipeline (DonationJobWorker)
+    private Long possibleDuplicateExhibitId;
+
+    private LocalDateTime processedAt;
+
+    // Exhibit created from the accepted donation
+    private Long exhibitId;
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package muzeum_wrzesien1939_api.donation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "donation_jobs")
+public class DonationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long donationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private DonationJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private DonationJobStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Earliest start while QUEUED, end of the worker's lease while RUNNING
+    @Column(nullable = false)
+    private Instant runAt;
+
+    @Column(length = 2000)
+    private String lastError;
+
+    @CreationTimestamp
+    private Instant createdAt;
+
+    public static DonationJob queued(Long donationId, DonationJobType type) {
+        return DonationJob.builder()
+                .donationId(donationId)
+                .type(type)
+                .status(DonationJobStatus.QUEUED)
+                .runAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+package muzeum_wrzesien1939_api.donation.entity;
+
+public enum DonationJobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,17 @@
+package muzeum_wrzesien1939_api.donation.entity;
+
+import java.util.Optional;
+
+/**
+ * Steps of the donation review pipeline, run in declaration order; each finished step queues the next.
+ */
+public enum DonationJobType {
+    NORMALIZE_IMAGE,    // Thumbnail/card/full variants of the submitted photo
+    DETECT_DUPLICATES,  // Same photo or a similar name among existing exhibits
+    NOTIFY_REVIEWERS;   // Donation is ready for an admin decision
+
+    public Optional<DonationJobType> next() {
+        DonationJobType[] steps = values();
+        return ordinal() + 1 < steps.length ? Optional.of(steps[ordinal() + 1]) : Optional.empty();
+    }
+}
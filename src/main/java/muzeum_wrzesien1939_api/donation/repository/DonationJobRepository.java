@@ -0,0 +1,39 @@
+package muzeum_wrzesien1939_api.donation.repository;
+
+import muzeum_wrzesien1939_api.donation.entity.DonationJob;
+import muzeum_wrzesien1939_api.donation.entity.DonationJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface DonationJobRepository extends JpaRepository<DonationJob, Long> {
+
+    /**
+     * Oldest due job, row-locked until the calling transaction ends. Rows locked by other
+     * workers are skipped instead of waited for, so workers never queue up behind each other.
+     * RUNNING rows qualify once their lease (run_at) has expired.
+     */
+    @Query(value = """
+            SELECT * FROM donation_jobs
+            WHERE status IN ('QUEUED', 'RUNNING') AND run_at <= :now
+            ORDER BY run_at, id
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<DonationJob> lockNextDue(Instant now);
+
+    /**
+     * Ends the attempt claimed with the given attempt number. Matches no row when the lease ran out
+     * and another worker has claimed the job since, so a slow worker cannot overwrite its outcome.
+     */
+    @Modifying
+    @Query("""
+            update DonationJob j set j.status = :status, j.runAt = :runAt, j.lastError = :lastError
+            where j.id = :id and j.attempts = :attempts
+              and j.status = muzeum_wrzesien1939_api.donation.entity.DonationJobStatus.RUNNING
+            """)
+    int finishAttempt(Long id, int attempts, DonationJobStatus status, Instant runAt, String lastError);
+}
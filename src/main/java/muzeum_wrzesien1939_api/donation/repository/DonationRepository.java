@@ -1,14 +1,71 @@
 package muzeum_wrzesien1939_api.donation.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import muzeum_wrzesien1939_api.donation.entity.Donation;
 import muzeum_wrzesien1939_api.donation.entity.DonationStatus;
+import muzeum_wrzesien1939_api.export.ExportWriter;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DonationRepository extends JpaRepository<Donation, Long> {
 
     List<Donation> findAllByStatus(DonationStatus status);
 
     List<Donation> findAllByDonor_Id(Long userId);
-}
\ No newline at end of file
+
+    // Serializes status changes of one donation, so two concurrent promotes cannot create two exhibits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from Donation d where d.id = :id")
+    Optional<Donation> lockById(Long id);
+
+    // Keyset pages, newest first: (createdAt, id) descending
+
+    @EntityGraph(attributePaths = "donor")
+    List<Donation> findAllByOrderByCreatedAtDescIdDesc(Limit limit);
+
+    @EntityGraph(attributePaths = "donor")
+    List<Donation> findAllByStatusOrderByCreatedAtDescIdDesc(DonationStatus status, Limit limit);
+
+    @Query("""
+            select d from Donation d join fetch d.donor
+            where (d.createdAt, d.id) < (:createdAt, :id)
+            order by d.createdAt desc, d.id desc
+            """)
+    List<Donation> findPageBefore(LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query("""
+            select d from Donation d join fetch d.donor
+            where d.status = :status and (d.createdAt, d.id) < (:createdAt, :id)
+            order by d.createdAt desc, d.id desc
+            """)
+    List<Donation> findPageBeforeByStatus(DonationStatus status, LocalDateTime createdAt, Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportWriter.FETCH_SIZE))
+    @Query("select d from Donation d join fetch d.donor order by d.id")
+    Stream<Donation> streamAllWithDonor();
+
+    // Review pipeline results, written by the job worker outside of any entity load
+
+    @Modifying
+    @Transactional
+    @Query("update Donation d set d.possibleDuplicateExhibitId = :exhibitId where d.id = :id")
+    int setPossibleDuplicate(Long id, Long exhibitId);
+
+    @Modifying
+    @Transactional
+    @Query("update Donation d set d.processedAt = :processedAt where d.id = :id")
+    int setProcessedAt(Long id, LocalDateTime processedAt);
+}
@@ -0,0 +1,177 @@
+package muzeum_wrzesien1939_api.donation.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import muzeum_wrzesien1939_api.donation.entity.DonationJob;
+import muzeum_wrzesien1939_api.donation.entity.DonationJobStatus;
+import muzeum_wrzesien1939_api.donation.repository.DonationJobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the donation_jobs queue on a fixed pool of workers. A job is claimed in a short transaction
+ * (row lock with SKIP LOCKED, status RUNNING, lease in run_at), run without a transaction and then
+ * finished in a second one, which also queues the next pipeline step. Several application instances
+ * can poll the same table; throughput grows with the number of workers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DonationJobWorker {
+
+    private static final Duration FIRST_RETRY_DELAY = Duration.ofSeconds(30);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final DonationJobRepository jobRepository;
+    private final DonationReviewPipeline pipeline;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.donations.jobs.workers}")
+    private int workers;
+
+    @Value("${application.donations.jobs.poll-interval}")
+    private Duration pollInterval;
+
+    @Value("${application.donations.jobs.lease}")
+    private Duration lease;
+
+    @Value("${application.donations.jobs.max-attempts}")
+    private int maxAttempts;
+
+    private ScheduledExecutorService executor;
+
+    // Not before the application is ready, so workers never see a half-migrated schema
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (workers <= 0) {
+            log.info("Donation job workers disabled, jobs are left to other instances");
+            return;
+        }
+        executor = Executors.newScheduledThreadPool(workers, new CustomizableThreadFactory("donation-job-"));
+        for (int i = 0; i < workers; i++) {
+            executor.scheduleWithFixedDelay(this::drain, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    // Runs due jobs back to back and only waits for the next poll when the queue is empty
+    private void drain() {
+        try {
+            while (!executor.isShutdown() && runNext()) {
+                // next job
+            }
+        } catch (RuntimeException e) {
+            log.warn("Polling donation jobs failed, retrying in {}", pollInterval, e);
+        }
+    }
+
+    /**
+     * Claims and runs one due job; returns false when none is due.
+     */
+    public boolean runNext() {
+        DonationJob job = transactionTemplate.execute(status -> claim());
+        if (job == null) {
+            return false;
+        }
+
+        long started = System.nanoTime();
+        try {
+            pipeline.run(job);
+            transactionTemplate.executeWithoutResult(status -> complete(job));
+            record(job, "success", started);
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> fail(job, e));
+            record(job, "failure", started);
+        }
+        return true;
+    }
+
+    private DonationJob claim() {
+        Optional<DonationJob> due;
+        while ((due = jobRepository.lockNextDue(Instant.now())).isPresent()) {
+            DonationJob job = due.get();
+            if (job.getAttempts() < maxAttempts) {
+                job.setStatus(DonationJobStatus.RUNNING);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setRunAt(Instant.now().plus(lease));
+                return jobRepository.save(job);
+            }
+            abandon(job);
+        }
+        return null;
+    }
+
+    // Only a RUNNING job whose lease expired gets here with all attempts used: its worker died or hung
+    // (e.g. out of memory on a huge photo), and running it again would most likely do the same
+    private void abandon(DonationJob job) {
+        job.setStatus(DonationJobStatus.FAILED);
+        job.setRunAt(Instant.now());
+        job.setLastError("Lease expired " + job.getAttempts() + " times without the step finishing");
+        jobRepository.saveAndFlush(job);
+        log.error("Donation job {} ({} of donation {}) did not finish within its lease {} times, giving up",
+                job.getId(), job.getType(), job.getDonationId(), job.getAttempts());
+    }
+
+    private void complete(DonationJob job) {
+        if (jobRepository.finishAttempt(job.getId(), job.getAttempts(), DonationJobStatus.DONE, Instant.now(), null) == 0) {
+            log.warn("Donation job {} outlived its lease and was claimed again", job.getId());
+            return;
+        }
+        job.getType().next().ifPresent(next -> jobRepository.save(DonationJob.queued(job.getDonationId(), next)));
+    }
+
+    // Exponential backoff: 30 s, 1 min, 2 min, ... until max-attempts is reached
+    private void fail(DonationJob job, RuntimeException e) {
+        boolean giveUp = job.getAttempts() >= maxAttempts;
+        Instant retryAt = Instant.now().plus(FIRST_RETRY_DELAY.multipliedBy(1L << Math.min(job.getAttempts() - 1, 10)));
+        int finished = jobRepository.finishAttempt(job.getId(), job.getAttempts(),
+                giveUp ? DonationJobStatus.FAILED : DonationJobStatus.QUEUED,
+                giveUp ? Instant.now() : retryAt,
+                truncate(String.valueOf(e.getMessage())));
+
+        if (finished == 0) {
+            log.warn("Donation job {} failed after it outlived its lease and was claimed again",
+                    job.getId(), e);
+        } else if (giveUp) {
+            log.error("Donation job {} ({} of donation {}) failed {} times, giving up",
+                    job.getId(), job.getType(), job.getDonationId(), job.getAttempts(), e);
+        } else {
+            log.warn("Donation job {} ({} of donation {}) failed, retrying at {}",
+                    job.getId(), job.getType(), job.getDonationId(), retryAt, e);
+        }
+    }
+
+    private void record(DonationJob job, String outcome, long startedNanos) {
+        Timer.builder("museum.donations.jobs")
+                .description("Donation review pipeline step")
+                .tag("type", job.getType().name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -6,5 +6,6 @@ import lombok.Data;
 public class DonationRequest {
     private String itemName;
     private String description;
+    private String imageId;
     private String imageUrl;
 }
\ No newline at end of file
@@ -13,7 +13,12 @@ public class DonationResponse {
     private String itemName;
     private String description;
     private String imageUrl;
+    private String thumbnailUrl;
     private DonationStatus status;
     private LocalDateTime createdAt;
     private String donorEmail;
+    // Set once the review pipeline has finished
+    private Long possibleDuplicateExhibitId;
+    private LocalDateTime processedAt;
+    private Long exhibitId;
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package muzeum_wrzesien1939_api.donation.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import muzeum_wrzesien1939_api.datasource.PrimaryReads;
+import muzeum_wrzesien1939_api.donation.entity.Donation;
+import muzeum_wrzesien1939_api.donation.entity.DonationJob;
+import muzeum_wrzesien1939_api.donation.repository.DonationRepository;
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import muzeum_wrzesien1939_api.media.service.ImageVariantService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * The work behind each {@link muzeum_wrzesien1939_api.donation.entity.DonationJobType}. Runs on the
+ * job workers outside of any transaction, so image scaling does not hold a database connection.
+ * Every step is idempotent: a job may run again after a failure or an expired lease.
+ * All reads go to the primary: a job is queued right after the donation (or the previous step's
+ * update) is committed, and a lagging replica would not have it yet.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DonationReviewPipeline {
+
+    private final DonationRepository donationRepository;
+    private final ExhibitRepository exhibitRepository;
+    private final ImageVariantService imageVariantService;
+
+    @Value("${application.donations.duplicate-name-similarity}")
+    private double duplicateNameSimilarity;
+
+    public void run(DonationJob job) {
+        PrimaryReads.run(() -> runStep(job));
+    }
+
+    private void runStep(DonationJob job) {
+        // Jobs of a deleted donation are deleted with it, so a missing donation is a real failure
+        Donation donation = donationRepository.findById(job.getDonationId())
+                .orElseThrow(() -> new RuntimeException("Donation " + job.getDonationId() + " not found"));
+        switch (job.getType()) {
+            case NORMALIZE_IMAGE -> imageVariantService.generateVariantsNow(donation.getImageHash());
+            case DETECT_DUPLICATES -> detectDuplicates(donation);
+            case NOTIFY_REVIEWERS -> notifyReviewers(donation);
+        }
+    }
+
+    // The same photo is a certain match, a similar name only a hint for the reviewer
+    private void detectDuplicates(Donation donation) {
+        Optional<Long> duplicate = Optional.ofNullable(donation.getImageHash())
+                .flatMap(exhibitRepository::findFirstByImageHashOrderByIdAsc)
+                .map(Exhibit::getId)
+                .or(() -> exhibitRepository.findMostSimilarName(donation.getItemName(), duplicateNameSimilarity));
+        donationRepository.setPossibleDuplicate(donation.getId(), duplicate.orElse(null));
+    }
+
+    private void notifyReviewers(Donation donation) {
+        donationRepository.setProcessedAt(donation.getId(), LocalDateTime.now());
+        log.info("Donation {} \"{}\" from {} is ready for review{}", donation.getId(), donation.getItemName(),
+                donation.getDonor().getEmail(),
+                donation.getPossibleDuplicateExhibitId() != null
+                        ? " (possible duplicate of exhibit " + donation.getPossibleDuplicateExhibitId() + ")"
+                        : "");
+    }
+}
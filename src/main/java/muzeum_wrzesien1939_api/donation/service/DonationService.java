@@ -1,25 +1,67 @@
 package muzeum_wrzesien1939_api.donation.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import muzeum_wrzesien1939_api.donation.entity.Donation;
+import muzeum_wrzesien1939_api.donation.entity.DonationJob;
+import muzeum_wrzesien1939_api.donation.entity.DonationJobType;
 import muzeum_wrzesien1939_api.donation.entity.DonationStatus;
+import muzeum_wrzesien1939_api.donation.repository.DonationJobRepository;
 import muzeum_wrzesien1939_api.donation.repository.DonationRepository;
+import muzeum_wrzesien1939_api.exception.ConflictException;
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitRequest;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitService;
+import muzeum_wrzesien1939_api.export.ExportColumn;
+import muzeum_wrzesien1939_api.export.ExportFormat;
+import muzeum_wrzesien1939_api.export.ExportWriter;
+import muzeum_wrzesien1939_api.media.entity.ImageVariant;
+import muzeum_wrzesien1939_api.media.service.MediaStorageService;
+import muzeum_wrzesien1939_api.pagination.CursorPage;
+import muzeum_wrzesien1939_api.pagination.PageCursor;
 import muzeum_wrzesien1939_api.user.entity.User;
 import muzeum_wrzesien1939_api.user.repository.UserRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class DonationService {
 
+    private static final List<ExportColumn<Donation>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", Donation::getId),
+            ExportColumn.of("itemName", Donation::getItemName),
+            ExportColumn.of("description", Donation::getDescription),
+            ExportColumn.of("status", Donation::getStatus),
+            ExportColumn.of("imageId", Donation::getImageHash),
+            ExportColumn.of("donorEmail", d -> d.getDonor().getEmail()),
+            ExportColumn.of("createdAt", Donation::getCreatedAt),
+            ExportColumn.of("possibleDuplicateExhibitId", Donation::getPossibleDuplicateExhibitId),
+            ExportColumn.of("exhibitId", Donation::getExhibitId));
+
     private final DonationRepository repository;
     private final UserRepository userRepository;
+    private final MediaStorageService mediaStorageService;
+    private final DonationJobRepository jobRepository;
+    private final ExhibitService exhibitService;
+    private final ExportWriter exportWriter;
 
+    /**
+     * Only stores the donation and queues its review pipeline (image variants, duplicate detection,
+     * reviewer notification) in the same transaction; {@link DonationJobWorker} does the rest.
+     */
+    @Timed(value = "museum.donations.create", description = "Donation submission")
+    @Transactional
     public DonationResponse createDonation(DonationRequest request) {
         String email = ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getUsername();
         User user = userRepository.findByEmail(email).orElseThrow();
@@ -27,22 +69,35 @@ public class DonationService {
         var donation = Donation.builder()
                 .itemName(request.getItemName())
                 .description(request.getDescription())
-                .imageUrl(request.getImageUrl())
+                .imageHash(mediaStorageService.resolveReference(request.getImageId(), request.getImageUrl()))
                 .status(DonationStatus.PENDING)
                 .donor(user)
                 .build();
 
-        return mapToResponse(repository.save(donation));
+        Donation savedDonation = repository.save(donation);
+        jobRepository.save(DonationJob.queued(savedDonation.getId(), DonationJobType.NORMALIZE_IMAGE));
+        return mapToResponse(savedDonation);
     }
 
-    public List<DonationResponse> getDonations(DonationStatus status) {
+    public CursorPage<DonationResponse> getDonations(DonationStatus status, String after, Integer limit) {
+        int pageSize = CursorPage.limit(limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
         List<Donation> donations;
-        if (status != null) {
-            donations = repository.findAllByStatus(status);
+        if (after == null) {
+            donations = status != null
+                    ? repository.findAllByStatusOrderByCreatedAtDescIdDesc(status, fetchLimit)
+                    : repository.findAllByOrderByCreatedAtDescIdDesc(fetchLimit);
         } else {
-            donations = repository.findAll();
+            List<String> keys = PageCursor.decode(after, 2);
+            LocalDateTime createdAt = LocalDateTime.parse(keys.get(0));
+            Long id = Long.valueOf(keys.get(1));
+            donations = status != null
+                    ? repository.findPageBeforeByStatus(status, createdAt, id, fetchLimit)
+                    : repository.findPageBefore(createdAt, id, fetchLimit);
         }
-        return donations.stream().map(this::mapToResponse).collect(Collectors.toList());
+
+        return CursorPage.of(donations, pageSize, d -> PageCursor.encode(d.getCreatedAt(), d.getId()), this::mapToResponse);
     }
 
     public List<DonationResponse> getMyDonations() {
@@ -53,23 +108,55 @@ public class DonationService {
                 .stream().map(this::mapToResponse).collect(Collectors.toList());
     }
 
-    public DonationResponse updateStatus(Long id, DonationStatus newStatus) {
-        var donation = repository.findById(id)
+    /**
+     * With promote, an accepted donation also becomes a new exhibit (category OTHER unless given)
+     * in the same transaction. The donation row stays locked until commit, so a concurrent second
+     * promote waits and then gets the 409.
+     */
+    @Transactional
+    public DonationResponse updateStatus(Long id, DonationStatus newStatus, boolean promote, ExhibitCategory category) {
+        var donation = repository.lockById(id)
                 .orElseThrow(() -> new RuntimeException("Donation not found"));
 
         donation.setStatus(newStatus);
+        if (promote) {
+            if (newStatus != DonationStatus.ACCEPTED) {
+                throw new RuntimeException("Only accepted donations can become exhibits");
+            }
+            if (donation.getExhibitId() != null) {
+                throw new ConflictException("Donation is already exhibit " + donation.getExhibitId());
+            }
+            var exhibit = exhibitService.createExhibit(ExhibitRequest.builder()
+                    .name(donation.getItemName())
+                    .description(donation.getDescription())
+                    .imageId(donation.getImageHash())
+                    .category(category != null ? category : ExhibitCategory.OTHER)
+                    .build());
+            donation.setExhibitId(exhibit.getId());
+        }
         return mapToResponse(repository.save(donation));
     }
 
+    @Timed(value = "museum.donations.export", description = "Streaming donation export")
+    public long exportDonations(ExportFormat format, OutputStream out) {
+        try (Stream<Donation> donations = repository.streamAllWithDonor()) {
+            return exportWriter.write(donations, format, EXPORT_COLUMNS, out);
+        }
+    }
+
     private DonationResponse mapToResponse(Donation donation) {
         return DonationResponse.builder()
                 .id(donation.getId())
                 .itemName(donation.getItemName())
                 .description(donation.getDescription())
-                .imageUrl(donation.getImageUrl())
+                .imageUrl(mediaStorageService.urlFor(donation.getImageHash()))
+                .thumbnailUrl(mediaStorageService.urlFor(donation.getImageHash(), ImageVariant.THUMBNAIL))
                 .status(donation.getStatus())
                 .createdAt(donation.getCreatedAt())
                 .donorEmail(donation.getDonor().getEmail())
+                .possibleDuplicateExhibitId(donation.getPossibleDuplicateExhibitId())
+                .processedAt(donation.getProcessedAt())
+                .exhibitId(donation.getExhibitId())
                 .build();
     }
 }
\ No newline at end of file
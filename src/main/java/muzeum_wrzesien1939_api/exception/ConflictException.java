@@ -0,0 +1,11 @@
+package muzeum_wrzesien1939_api.exception;
+
+/**
+ * Request was valid but lost against the current state of the resource (e.g. a fully booked slot).
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
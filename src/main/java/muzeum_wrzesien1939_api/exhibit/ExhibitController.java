@@ -3,16 +3,32 @@ package muzeum_wrzesien1939_api.exhibit;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitImportFormat;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitImportResponse;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitImportService;
 import muzeum_wrzesien1939_api.exhibit.service.ExhibitRequest;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitSearchHitResponse;
 import muzeum_wrzesien1939_api.exhibit.service.ExhibitResponse;
 import muzeum_wrzesien1939_api.exhibit.service.ExhibitSearchCriteria;
 import muzeum_wrzesien1939_api.exhibit.service.ExhibitService;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitSummaryResponse;
+import muzeum_wrzesien1939_api.export.ExportFormat;
+import muzeum_wrzesien1939_api.export.ExportResponses;
+import muzeum_wrzesien1939_api.pagination.CursorPage;
+import muzeum_wrzesien1939_api.versioning.ConditionalRequests;
+import muzeum_wrzesien1939_api.versioning.VersionStamp;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/v1/exhibits")
@@ -21,13 +37,34 @@ import java.util.List;
 public class ExhibitController {
 
     private final ExhibitService service;
+    private final ExhibitImportService importService;
 
-    @Operation(summary = "Get all exhibits", description = "Returns a list of all exhibits with optional filtering (Query Object Pattern).")
+    @Operation(summary = "Get all exhibits", description = "Returns lightweight summaries of all exhibits with optional filtering (Query Object Pattern). Full details are available via GET /{id}. Paginated by cursor: pass nextCursor as 'after'.")
     @GetMapping
-    public ResponseEntity<List<ExhibitResponse>> getAllExhibits(
-            @ParameterObject @ModelAttribute ExhibitSearchCriteria criteria
+    public ResponseEntity<CursorPage<ExhibitSummaryResponse>> getAllExhibits(
+            @ParameterObject @ModelAttribute ExhibitSearchCriteria criteria,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            ServletWebRequest webRequest
     ) {
-        return ResponseEntity.ok(service.getAllExhibits(criteria));
+        VersionStamp version = service.getCatalogVersion();
+        String resource = "exhibits-" + Integer.toHexString(
+                Objects.hash(criteria == null ? null : criteria.normalized(), after, CursorPage.limit(limit)));
+        String etag = ConditionalRequests.etag(resource, version);
+        if (ConditionalRequests.notModified(webRequest, etag, version.getLastModified(), ConditionalRequests.LIST_CACHE_CONTROL)) {
+            return null;
+        }
+        return ConditionalRequests.ok(resource, service.getAllExhibits(criteria, after, limit), ConditionalRequests.LIST_CACHE_CONTROL);
+    }
+
+    @Operation(summary = "Search exhibits", description = "Full-text search over names and descriptions, ranked by relevance, with highlighted description snippets.")
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<ExhibitSearchHitResponse>> searchExhibits(
+            @RequestParam String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(service.searchExhibits(q, after, limit));
     }
 
     @Operation(summary = "Create a new exhibit", description = "Adds a new exhibit to the database (ADMIN only).")
@@ -37,10 +74,30 @@ public class ExhibitController {
         return ResponseEntity.ok(service.createExhibit(request));
     }
 
+    @Operation(summary = "Import exhibits", description = "Streams a CSV file (header row naming the columns name, category, description, productionYear, imageId) "
+            + "or NDJSON file (one exhibit request per line) from multipart field 'file' (ADMIN only). Valid rows are inserted in batches; "
+            + "invalid rows are skipped and reported with their line number, together with the throughput of the import.")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ExhibitImportResponse> importExhibits(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new RuntimeException("File is empty");
+        }
+        ExhibitImportFormat format = ExhibitImportFormat.detect(file.getOriginalFilename(), file.getContentType());
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(importService.importExhibits(in, format));
+        }
+    }
+
     @Operation(summary = "Get exhibit details", description = "Returns details of a single exhibit by ID.")
     @GetMapping("/{id}")
-    public ResponseEntity<ExhibitResponse> getExhibitById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getExhibitById(id));
+    public ResponseEntity<ExhibitResponse> getExhibitById(@PathVariable Long id, ServletWebRequest webRequest) {
+        VersionStamp version = service.getExhibitVersion(id);
+        String etag = ConditionalRequests.etag("exhibit-" + id, version);
+        if (ConditionalRequests.notModified(webRequest, etag, version.getLastModified(), ConditionalRequests.ITEM_CACHE_CONTROL)) {
+            return null;
+        }
+        return ConditionalRequests.ok("exhibit-" + id, service.getExhibitById(id), ConditionalRequests.ITEM_CACHE_CONTROL);
     }
 
     @Operation(summary = "Update exhibit", description = "Updates an existing exhibit (ADMIN only).")
@@ -60,4 +117,15 @@ public class ExhibitController {
         service.deleteExhibit(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Export exhibits", description = "Streams all exhibits as NDJSON (default) or CSV (format=csv) without loading them into memory (ADMIN only). With spreadsheet=true the CSV is safe to open in a spreadsheet (cells starting with =, +, - or @ get a ' prefix) but no longer suitable for re-import.")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExhibits(
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean spreadsheet
+    ) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format, spreadsheet);
+        return ExportResponses.attachment("exhibits", exportFormat, out -> service.exportExhibits(exportFormat, out));
+    }
 }
\ No newline at end of file
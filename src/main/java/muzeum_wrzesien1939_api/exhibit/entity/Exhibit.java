@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Data
 @Builder
@@ -14,8 +17,10 @@ import lombok.NoArgsConstructor;
 @Table(name = "exhibits")
 public class Exhibit {
 
+    // Pooled sequence instead of IDENTITY, so inserts can be JDBC-batched (bulk import)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exhibits_seq")
+    @SequenceGenerator(name = "exhibits_seq", sequenceName = "exhibits_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,11 +33,18 @@ public class Exhibit {
     //String so we can use more of description when exact year unknown (e.g. XIX century)
     private String productionYear;
 
-    //TODO maybe use binary image data
-    @Column(columnDefinition = "TEXT")
-    private String imageUrl;
+    // SHA-256 of the image in the media store
+    @Column(length = 64)
+    private String imageHash;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ExhibitCategory category;
+
+    // Drive ETag / Last-Modified of the catalog endpoints
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
 }
\ No newline at end of file
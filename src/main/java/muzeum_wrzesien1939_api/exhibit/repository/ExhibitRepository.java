@@ -1,7 +1,73 @@
 package muzeum_wrzesien1939_api.exhibit.repository;
 
+import jakarta.persistence.QueryHint;
 import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.export.ExportWriter;
+import muzeum_wrzesien1939_api.versioning.VersionStamp;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface ExhibitRepository extends JpaRepository<Exhibit, Long> {
-}
\ No newline at end of file
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ExhibitRepository extends JpaRepository<Exhibit, Long>,
+        JpaSpecificationExecutor<Exhibit>,
+        ExhibitSummaryRepository {
+
+    // Control characters cannot occur in a description (the query strips them), unlike HTML tags
+    char SNIPPET_MATCH_START = '\u0002';
+    char SNIPPET_MATCH_END = '\u0003';
+
+    @Query("select e.version as version, e.updatedAt as lastModified from Exhibit e where e.id = :id")
+    Optional<VersionStamp> findVersionStampById(Long id);
+
+    // Changes on every insert (count), update (versions, updatedAt) and delete (count)
+    @Query("select count(e) + coalesce(sum(e.version), 0) as version, max(e.updatedAt) as lastModified from Exhibit e")
+    VersionStamp findCatalogVersionStamp();
+
+    /**
+     * Full-text search on the generated {@code search_vector} column (see db/migration/V9__exhibit_search_unaccent_config.sql).
+     * The inner query ranks and limits via the GIN index; snippets are only built for the returned page.
+     * Matches in the snippet are delimited by {@link #SNIPPET_MATCH_START} and {@link #SNIPPET_MATCH_END};
+     * the description itself is raw user text.
+     */
+    @Query(value = """
+            SELECT h.id, h.name, h.category,
+                   h.production_year AS "productionYear",
+                   h.image_hash AS "imageHash",
+                   ts_headline('museum_search', translate(coalesce(h.description, ''), chr(2) || chr(3), ''), h.q,
+                               'StartSel=' || chr(2) || ', StopSel=' || chr(3) || ', MaxFragments=2, MinWords=5, MaxWords=20') AS snippet
+            FROM (
+                SELECT e.id, e.name, e.category, e.production_year, e.image_hash, e.description, q,
+                       ts_rank_cd(e.search_vector, q) AS rank
+                FROM exhibits e, to_tsquery('museum_search', :query) q
+                WHERE e.search_vector @@ q
+                ORDER BY rank DESC, e.id
+                LIMIT :limit OFFSET :offset
+            ) h
+            ORDER BY h.rank DESC, h.id
+            """, nativeQuery = true)
+    List<ExhibitSearchHit> search(String query, int limit, long offset);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportWriter.FETCH_SIZE))
+    Stream<Exhibit> streamAllByOrderByIdAsc();
+
+    Optional<Exhibit> findFirstByImageHashOrderByIdAsc(String imageHash);
+
+    /**
+     * Exhibit whose name is most similar to the given one (pg_trgm). The % operator narrows the
+     * candidates through idx_exhibits_name_trgm before the exact similarity threshold is applied.
+     */
+    @Query(value = """
+            SELECT e.id FROM exhibits e
+            WHERE lower(e.name) % lower(:name)
+              AND similarity(lower(e.name), lower(:name)) >= :threshold
+            ORDER BY similarity(lower(e.name), lower(:name)) DESC, e.id
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<Long> findMostSimilarName(String name, double threshold);
+}
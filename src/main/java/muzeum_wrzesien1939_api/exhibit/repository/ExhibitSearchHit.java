@@ -0,0 +1,19 @@
+package muzeum_wrzesien1939_api.exhibit.repository;
+
+/**
+ * Row of the full-text search query, already ordered by relevance.
+ */
+public interface ExhibitSearchHit {
+
+    Long getId();
+
+    String getName();
+
+    String getCategory();
+
+    String getProductionYear();
+
+    String getImageHash();
+
+    String getSnippet();
+}
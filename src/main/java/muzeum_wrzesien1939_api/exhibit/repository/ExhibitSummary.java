@@ -0,0 +1,16 @@
+package muzeum_wrzesien1939_api.exhibit.repository;
+
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+
+/**
+ * List view of an exhibit: everything the catalog grid needs, without the full description or image bytes.
+ */
+public record ExhibitSummary(
+        Long id,
+        String name,
+        ExhibitCategory category,
+        String productionYear,
+        String imageHash,
+        String excerpt
+) {
+}
@@ -0,0 +1,14 @@
+package muzeum_wrzesien1939_api.exhibit.repository;
+
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ExhibitSummaryRepository {
+
+    /**
+     * Returns at most {@code limit} summaries matching the specification, ordered by name and id (keyset order).
+     */
+    List<ExhibitSummary> findSummaries(Specification<Exhibit> specification, int limit);
+}
@@ -0,0 +1,51 @@
+package muzeum_wrzesien1939_api.exhibit.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Runs specifications as a constructor projection, so the filter is evaluated by the database
+ * and only the summary columns ever leave it.
+ */
+public class ExhibitSummaryRepositoryImpl implements ExhibitSummaryRepository {
+
+    private static final int EXCERPT_LENGTH = 200;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ExhibitSummary> findSummaries(Specification<Exhibit> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ExhibitSummary> query = cb.createQuery(ExhibitSummary.class);
+        Root<Exhibit> root = query.from(Exhibit.class);
+
+        query.select(cb.construct(ExhibitSummary.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("category"),
+                root.get("productionYear"),
+                root.get("imageHash"),
+                cb.substring(root.<String>get("description"), 1, EXCERPT_LENGTH)));
+
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(cb.asc(root.get("name")), cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,197 @@
+package muzeum_wrzesien1939_api.exhibit.service;
+
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row naming the {@link ExhibitRequest} fields in any order
+ * (matched case-insensitively, so "production_year" and "Production Year" work too).
+ * Quoted fields may contain delimiters, doubled quotes and line breaks. Spreadsheets set to
+ * the Polish locale export with ';', so the delimiter is taken from the header row.
+ */
+class CsvExhibitReader implements ExhibitRowReader {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "category");
+
+    private final Reader reader;
+    private final char delimiter;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long lineNumber = 1;
+    private long recordLine;
+    private List<String> record;
+    private int lookahead = -2;
+
+    CsvExhibitReader(Reader reader) throws IOException {
+        this.reader = reader;
+
+        String header = readHeaderLine();
+        this.delimiter = header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+        List<String> names = parse(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(normalize(names.get(i)), i);
+        }
+        if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+            throw new RuntimeException("CSV header must contain the columns: name, category");
+        }
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        do {
+            recordLine = lineNumber;
+            record = readRecord();
+        } while (record != null && record.size() == 1 && record.get(0).isBlank());
+        return record != null;
+    }
+
+    @Override
+    public long line() {
+        return recordLine;
+    }
+
+    @Override
+    public ExhibitRequest request() {
+        if (record.size() != columnCount()) {
+            throw new RuntimeException("Expected " + columnCount() + " columns, found " + record.size());
+        }
+        return ExhibitRequest.builder()
+                .name(value("name"))
+                .description(value("description"))
+                .productionYear(value("productionyear"))
+                .imageId(value("imageid"))
+                .imageUrl(value("imageurl"))
+                .category(category(value("category")))
+                .build();
+    }
+
+    private int columnCount() {
+        return columns.values().stream().mapToInt(i -> i + 1).max().orElse(0);
+    }
+
+    private String value(String column) {
+        Integer index = columns.get(column);
+        if (index == null) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static ExhibitCategory category(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ExhibitCategory.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown category: " + value);
+        }
+    }
+
+    private static String normalize(String column) {
+        return column.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+    }
+
+    private String readHeaderLine() throws IOException {
+        StringBuilder header = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                header.append((char) c);
+            }
+        }
+        if (header.isEmpty()) {
+            throw new RuntimeException("Import file is empty");
+        }
+        lineNumber++;
+        return header.toString();
+    }
+
+    private List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == delimiter && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Returns null at the end of the input
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new RuntimeException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    lineNumber++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (lookahead != -2) {
+            int c = lookahead;
+            lookahead = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (lookahead == -2) {
+            lookahead = reader.read();
+        }
+        return lookahead;
+    }
+}
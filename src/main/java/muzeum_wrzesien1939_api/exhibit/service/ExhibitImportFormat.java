@@ -0,0 +1,30 @@
+package muzeum_wrzesien1939_api.exhibit.service;
+
+import java.util.Locale;
+
+public enum ExhibitImportFormat {
+    CSV,
+    NDJSON;
+
+    /**
+     * The file extension wins over the content type, which browsers often send as
+     * application/octet-stream or application/vnd.ms-excel for CSV files.
+     */
+    public static ExhibitImportFormat detect(String filename, String contentType) {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+            return NDJSON;
+        }
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/csv")) {
+            return CSV;
+        }
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+            return NDJSON;
+        }
+        throw new RuntimeException("Unsupported import format, expected a .csv or .ndjson file");
+    }
+}
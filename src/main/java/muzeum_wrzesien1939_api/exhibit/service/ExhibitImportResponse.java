@@ -0,0 +1,33 @@
+package muzeum_wrzesien1939_api.exhibit.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExhibitImportResponse {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    // Capped; errorsTruncated tells the client that more rows were rejected than listed
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+    private long durationMillis;
+    private double rowsPerSecond;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // Line of the input file on which the row starts (the CSV header is line 1)
+        private long line;
+        private String message;
+    }
+}
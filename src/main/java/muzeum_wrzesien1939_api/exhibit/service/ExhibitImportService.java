@@ -0,0 +1,210 @@
+package muzeum_wrzesien1939_api.exhibit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import muzeum_wrzesien1939_api.config.CacheConfig;
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import muzeum_wrzesien1939_api.media.service.ImageVariantService;
+import muzeum_wrzesien1939_api.media.service.MediaStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk import of exhibits. The file is streamed row by row; valid rows are persisted in chunks of
+ * {@code application.exhibits.import-batch-size}, each in its own transaction, so the persistence
+ * context never grows beyond one chunk and a failing chunk does not undo the ones before it.
+ * Within a chunk Hibernate takes ids from the pooled sequence and sends the inserts as JDBC batches.
+ * A chunk the database rejects is retried row by row, so only the offending rows are reported.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExhibitImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 2000;
+    private static final int MAX_PRODUCTION_YEAR_LENGTH = 255;
+
+    private final ExhibitRepository repository;
+    private final MediaStorageService mediaStorageService;
+    private final ImageVariantService imageVariantService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+
+    @Value("${application.exhibits.import-batch-size}")
+    private int batchSize;
+
+    @Timed(value = "museum.exhibits.import", description = "Bulk exhibit import")
+    public ExhibitImportResponse importExhibits(InputStream input, ExhibitImportFormat format) {
+        long started = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        List<ImportedRow> chunk = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            skipByteOrderMark(reader);
+            ExhibitRowReader rows = format == ExhibitImportFormat.CSV
+                    ? new CsvExhibitReader(reader)
+                    : new NdjsonExhibitReader(reader, objectMapper);
+
+            while (nextRow(rows, progress)) {
+                progress.totalRows++;
+                try {
+                    chunk.add(new ImportedRow(rows.line(), toExhibit(rows.request())));
+                } catch (RuntimeException e) {
+                    progress.reject(rows.line(), e.getMessage());
+                }
+                if (chunk.size() >= batchSize) {
+                    persist(chunk, progress);
+                }
+            }
+            persist(chunk, progress);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read import file", e);
+        }
+
+        long durationMillis = (System.nanoTime() - started) / 1_000_000;
+        double rowsPerSecond = durationMillis == 0 ? progress.totalRows : progress.totalRows * 1000.0 / durationMillis;
+        log.info("Exhibit import: {} rows, {} imported, {} failed in {} ms ({} rows/s)",
+                progress.totalRows, progress.imported, progress.failed, durationMillis, Math.round(rowsPerSecond));
+
+        return ExhibitImportResponse.builder()
+                .totalRows(progress.totalRows)
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .errors(progress.errors)
+                .errorsTruncated(progress.failed > progress.errors.size())
+                .durationMillis(durationMillis)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+
+    // A row that cannot be parsed (e.g. an unterminated quote) ends the read; the rows before it are kept
+    private static boolean nextRow(ExhibitRowReader rows, ImportProgress progress) throws IOException {
+        try {
+            return rows.next();
+        } catch (RuntimeException e) {
+            progress.totalRows++;
+            progress.reject(rows.line(), e.getMessage() + "; the rest of the file was not read");
+            return false;
+        }
+    }
+
+    private Exhibit toExhibit(ExhibitRequest request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new RuntimeException("Name is required");
+        }
+        if (request.getCategory() == null) {
+            throw new RuntimeException("Category is required");
+        }
+        requireMaxLength("Name", request.getName(), MAX_NAME_LENGTH);
+        requireMaxLength("Description", request.getDescription(), MAX_DESCRIPTION_LENGTH);
+        requireMaxLength("Production year", request.getProductionYear(), MAX_PRODUCTION_YEAR_LENGTH);
+
+        return Exhibit.builder()
+                .name(request.getName().trim())
+                .description(request.getDescription())
+                .productionYear(request.getProductionYear())
+                .imageHash(mediaStorageService.resolveReference(request.getImageId(), request.getImageUrl()))
+                .category(request.getCategory())
+                .build();
+    }
+
+    private static void requireMaxLength(String field, String value, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new RuntimeException(field + " is longer than " + maxLength + " characters");
+        }
+    }
+
+    // saveAllAndFlush keeps the inserts inside the chunk even when the import joins an outer transaction
+    private void persist(List<ImportedRow> chunk, ImportProgress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Exhibit> exhibits = chunk.stream().map(ImportedRow::exhibit).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.saveAllAndFlush(exhibits));
+            imported(exhibits, progress);
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Exhibit import: chunk of {} rows starting on line {} not saved, retrying row by row: {}",
+                    chunk.size(), chunk.get(0).line(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            chunk.forEach(row -> persistRow(row, progress));
+        }
+        chunk.clear();
+    }
+
+    // The failed attempt already assigned ids and versions to the entities, so each row is saved as a fresh copy
+    private void persistRow(ImportedRow row, ImportProgress progress) {
+        Exhibit exhibit = copyOf(row.exhibit());
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.saveAndFlush(exhibit));
+            imported(List.of(exhibit), progress);
+        } catch (DataAccessException | TransactionException e) {
+            progress.reject(row.line(), "Not saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    // Catalog pages are dropped after every committed chunk, so a failing or long import never leaves them stale
+    private void imported(List<Exhibit> exhibits, ImportProgress progress) {
+        progress.imported += exhibits.size();
+        exhibits.forEach(exhibit -> imageVariantService.requestVariants(exhibit.getImageHash()));
+        Cache pages = cacheManager.getCache(CacheConfig.EXHIBIT_PAGES);
+        if (pages != null) {
+            pages.clear();
+        }
+    }
+
+    private static Exhibit copyOf(Exhibit exhibit) {
+        return Exhibit.builder()
+                .name(exhibit.getName())
+                .description(exhibit.getDescription())
+                .productionYear(exhibit.getProductionYear())
+                .imageHash(exhibit.getImageHash())
+                .category(exhibit.getCategory())
+                .build();
+    }
+
+    private static void skipByteOrderMark(BufferedReader reader) throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    private record ImportedRow(long line, Exhibit exhibit) {
+    }
+
+    private static class ImportProgress {
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private final List<ExhibitImportResponse.RowError> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(ExhibitImportResponse.RowError.builder().line(line).message(message).build());
+            }
+        }
+    }
+}
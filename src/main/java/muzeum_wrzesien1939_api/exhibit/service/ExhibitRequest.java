@@ -14,6 +14,7 @@ public class ExhibitRequest {
     private String name;
     private String description;
     private String productionYear;
+    private String imageId;
     private String imageUrl;
     private ExhibitCategory category;
 }
\ No newline at end of file
@@ -16,5 +16,8 @@ public class ExhibitResponse {
     private String description;
     private String productionYear;
     private String imageUrl;
+    private String thumbnailUrl;
+    private String cardUrl;
+    private String fullUrl;
     private ExhibitCategory category;
 }
\ No newline at end of file
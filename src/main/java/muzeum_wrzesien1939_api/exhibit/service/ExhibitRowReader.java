@@ -0,0 +1,26 @@
+package muzeum_wrzesien1939_api.exhibit.service;
+
+import java.io.IOException;
+
+/**
+ * Reads an import file one row at a time, so only the current row is held in memory.
+ */
+interface ExhibitRowReader {
+
+    /**
+     * Advances to the next non-blank row; returns false at the end of the input. Throws a
+     * RuntimeException when the input cannot be split into rows any further (e.g. an unterminated
+     * quote); {@link #line()} then points at the broken row.
+     */
+    boolean next() throws IOException;
+
+    /**
+     * Line of the input on which the current row starts.
+     */
+    long line();
+
+    /**
+     * Maps the current row; throws a RuntimeException describing the problem for a malformed row.
+     */
+    ExhibitRequest request();
+}
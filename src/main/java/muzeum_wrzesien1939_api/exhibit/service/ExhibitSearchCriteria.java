@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Locale;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,4 +21,15 @@ public class ExhibitSearchCriteria {
 
     @Schema(description = "Filter by production year", example = "1939")
     private Integer productionYear;
+
+    /**
+     * Equivalent criteria with blank values dropped and text case-folded, used as a cache key.
+     */
+    public ExhibitSearchCriteria normalized() {
+        return new ExhibitSearchCriteria(
+                name == null || name.isBlank() ? null : name.trim().toLowerCase(Locale.ROOT),
+                category == null || category.isBlank() ? null : category.trim().toUpperCase(Locale.ROOT),
+                productionYear
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package muzeum_wrzesien1939_api.exhibit.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExhibitSearchHitResponse {
+    private Long id;
+    private String name;
+    private String productionYear;
+    private String imageUrl;
+    private String thumbnailUrl;
+    private ExhibitCategory category;
+    // HTML-escaped fragment of the description; <mark> around the matches is the only markup
+    private String snippet;
+}
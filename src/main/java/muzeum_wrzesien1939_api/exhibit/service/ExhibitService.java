@@ -1,63 +1,164 @@
 package muzeum_wrzesien1939_api.exhibit.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import muzeum_wrzesien1939_api.config.CacheConfig;
+import muzeum_wrzesien1939_api.datasource.PrimaryReads;
 import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
 import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitSearchHit;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitSummary;
+import muzeum_wrzesien1939_api.export.ExportColumn;
+import muzeum_wrzesien1939_api.export.ExportFormat;
+import muzeum_wrzesien1939_api.export.ExportWriter;
+import muzeum_wrzesien1939_api.media.entity.ImageVariant;
+import muzeum_wrzesien1939_api.media.service.ImageVariantService;
+import muzeum_wrzesien1939_api.media.service.MediaStorageService;
+import muzeum_wrzesien1939_api.pagination.CursorPage;
+import muzeum_wrzesien1939_api.pagination.PageCursor;
+import muzeum_wrzesien1939_api.versioning.VersionStamp;
+import muzeum_wrzesien1939_api.versioning.Versioned;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
 
+import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ExhibitService {
 
+    // Same column names as the bulk import, so a plain CSV or NDJSON export can be edited and imported again
+    private static final List<ExportColumn<Exhibit>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", Exhibit::getId),
+            ExportColumn.of("name", Exhibit::getName),
+            ExportColumn.of("category", Exhibit::getCategory),
+            ExportColumn.of("productionYear", Exhibit::getProductionYear),
+            ExportColumn.of("description", Exhibit::getDescription),
+            ExportColumn.of("imageId", Exhibit::getImageHash),
+            ExportColumn.of("updatedAt", Exhibit::getUpdatedAt));
+
     private final ExhibitRepository repository;
+    private final MediaStorageService mediaStorageService;
+    private final ImageVariantService imageVariantService;
+    private final ExportWriter exportWriter;
+
+    // Cached pages and items are read on the primary, a lagging replica would cache a pre-write state.
+    // Their stamp is read first: a write committed in between leaves the body newer than its ETag
+    // (a needless 200 later), never older.
+    @Timed(value = "museum.exhibits.list", description = "Filtered exhibit page")
+    @Cacheable(cacheNames = CacheConfig.EXHIBIT_PAGES,
+            key = "{#criteria?.normalized(), #after, T(muzeum_wrzesien1939_api.pagination.CursorPage).limit(#limit)}")
+    public Versioned<CursorPage<ExhibitSummaryResponse>> getAllExhibits(ExhibitSearchCriteria criteria, String after, Integer limit) {
+        return PrimaryReads.call(() -> {
+            VersionStamp version = repository.findCatalogVersionStamp();
+            return Versioned.of(loadExhibits(criteria, after, limit), version);
+        });
+    }
 
-    public List<ExhibitResponse> getAllExhibits(ExhibitSearchCriteria criteria) {
-        return repository.findAll()
-                .stream()
-                .filter(exhibit -> matches(exhibit, criteria))
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    private CursorPage<ExhibitSummaryResponse> loadExhibits(ExhibitSearchCriteria criteria, String after, Integer limit) {
+        int pageSize = CursorPage.limit(limit);
+
+        Specification<Exhibit> specification = ExhibitSpecifications.fromCriteria(criteria);
+        if (after != null) {
+            List<String> keys = PageCursor.decode(after, 2);
+            specification = specification.and(ExhibitSpecifications.after(keys.get(0), Long.valueOf(keys.get(1))));
+        }
+
+        return CursorPage.of(
+                repository.findSummaries(specification, pageSize + 1),
+                pageSize,
+                e -> PageCursor.encode(e.name(), e.id()),
+                this::mapToSummaryResponse);
     }
 
-    private boolean matches(Exhibit exhibit, ExhibitSearchCriteria criteria) {
-        if (criteria == null) return true;
+    /**
+     * Relevance-ranked full-text search over names and descriptions. Every word of the query is
+     * matched as a prefix ("mask" finds "Maska gazowa"), diacritics are ignored.
+     * Ranked results cannot be keyset-paginated, so the cursor carries the offset of the next page.
+     */
+    @Timed(value = "museum.exhibits.search", description = "Full-text exhibit search")
+    public CursorPage<ExhibitSearchHitResponse> searchExhibits(String query, String after, Integer limit) {
+        int pageSize = CursorPage.limit(limit);
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return CursorPage.<ExhibitSearchHitResponse>builder().items(List.of()).build();
+        }
 
-        boolean nameMatches = criteria.getName() == null ||
-                exhibit.getName().toLowerCase().contains(criteria.getName().toLowerCase());
+        long offset = after == null ? 0L : Long.parseLong(PageCursor.decode(after, 1).get(0));
+        List<ExhibitSearchHit> hits = repository.search(tsQuery, pageSize + 1, offset);
 
-        boolean categoryMatches = criteria.getCategory() == null ||
-                (exhibit.getCategory() != null &&
-                        exhibit.getCategory().name().equalsIgnoreCase(criteria.getCategory()));
+        return CursorPage.of(hits, pageSize, h -> PageCursor.encode(offset + pageSize), this::mapToSearchHitResponse);
+    }
 
-        boolean yearMatches = criteria.getProductionYear() == null ||
-                String.valueOf(criteria.getProductionYear()).equals(exhibit.getProductionYear());
+    // Only letters and digits reach to_tsquery, so user input cannot break the query syntax
+    private static String toPrefixTsQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    public VersionStamp getExhibitVersion(Long id) {
+        return repository.findVersionStampById(id)
+                .orElseThrow(() -> new RuntimeException("Exhibit not found"));
+    }
 
-        return nameMatches && categoryMatches && yearMatches;
+    public VersionStamp getCatalogVersion() {
+        return repository.findCatalogVersionStamp();
     }
 
+    @CacheEvict(cacheNames = CacheConfig.EXHIBIT_PAGES, allEntries = true)
+    @Transactional
     public ExhibitResponse createExhibit(ExhibitRequest request) {
         var exhibit = Exhibit.builder()
                 .name(request.getName())
                 .description(request.getDescription())
                 .productionYear(request.getProductionYear())
-                .imageUrl(request.getImageUrl())
+                .imageHash(mediaStorageService.resolveReference(request.getImageId(), request.getImageUrl()))
                 .category(request.getCategory())
                 .build();
 
         var savedExhibit = repository.save(exhibit);
+        imageVariantService.requestVariants(savedExhibit.getImageHash());
 
         return mapToResponse(savedExhibit);
     }
 
-    public ExhibitResponse getExhibitById(Long id) {
-        var exhibit = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Exhibit not found"));
-        return mapToResponse(exhibit);
+    @Timed(value = "museum.exhibits.get", description = "Single exhibit")
+    @Cacheable(cacheNames = CacheConfig.EXHIBITS, key = "#id")
+    public Versioned<ExhibitResponse> getExhibitById(Long id) {
+        return PrimaryReads.call(() -> {
+            VersionStamp version = getExhibitVersion(id);
+            var exhibit = repository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Exhibit not found"));
+            return Versioned.of(mapToResponse(exhibit), version);
+        });
     }
 
+    // Exhibitions embed exhibit data, so their cached views are dropped as well. The item is evicted
+    // rather than put: its cached stamp is only known once the new version is read back.
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EXHIBITS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EXHIBIT_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EXHIBITIONS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EXHIBITION_PAGES, allEntries = true)
+    })
+    @Transactional
     public ExhibitResponse updateExhibit(Long id, ExhibitRequest request) {
         var exhibit = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Exhibit not found"));
@@ -65,13 +166,21 @@ public class ExhibitService {
         exhibit.setName(request.getName());
         exhibit.setDescription(request.getDescription());
         exhibit.setProductionYear(request.getProductionYear());
-        exhibit.setImageUrl(request.getImageUrl());
+        exhibit.setImageHash(mediaStorageService.resolveReference(request.getImageId(), request.getImageUrl()));
         exhibit.setCategory(request.getCategory());
 
         var updatedExhibit = repository.save(exhibit);
+        imageVariantService.requestVariants(updatedExhibit.getImageHash());
         return mapToResponse(updatedExhibit);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EXHIBITS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EXHIBIT_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EXHIBITIONS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EXHIBITION_PAGES, allEntries = true)
+    })
+    @Transactional
     public void deleteExhibit(Long id) {
         if (!repository.existsById(id)) {
             throw new RuntimeException("Exhibit not found");
@@ -79,14 +188,59 @@ public class ExhibitService {
         repository.deleteById(id);
     }
 
+    @Timed(value = "museum.exhibits.export", description = "Streaming catalog export")
+    public long exportExhibits(ExportFormat format, OutputStream out) {
+        try (Stream<Exhibit> exhibits = repository.streamAllByOrderByIdAsc()) {
+            return exportWriter.write(exhibits, format, EXPORT_COLUMNS, out);
+        }
+    }
+
     private ExhibitResponse mapToResponse(Exhibit exhibit) {
         return ExhibitResponse.builder()
                 .id(exhibit.getId())
                 .name(exhibit.getName())
                 .description(exhibit.getDescription())
                 .productionYear(exhibit.getProductionYear())
-                .imageUrl(exhibit.getImageUrl())
+                .imageUrl(mediaStorageService.urlFor(exhibit.getImageHash()))
+                .thumbnailUrl(mediaStorageService.urlFor(exhibit.getImageHash(), ImageVariant.THUMBNAIL))
+                .cardUrl(mediaStorageService.urlFor(exhibit.getImageHash(), ImageVariant.CARD))
+                .fullUrl(mediaStorageService.urlFor(exhibit.getImageHash(), ImageVariant.FULL))
                 .category(exhibit.getCategory())
                 .build();
     }
+
+    private ExhibitSearchHitResponse mapToSearchHitResponse(ExhibitSearchHit hit) {
+        return ExhibitSearchHitResponse.builder()
+                .id(hit.getId())
+                .name(hit.getName())
+                .productionYear(hit.getProductionYear())
+                .imageUrl(mediaStorageService.urlFor(hit.getImageHash()))
+                .thumbnailUrl(mediaStorageService.urlFor(hit.getImageHash(), ImageVariant.THUMBNAIL))
+                .category(ExhibitCategory.valueOf(hit.getCategory()))
+                .snippet(toHtmlSnippet(hit.getSnippet()))
+                .build();
+    }
+
+    // The description is escaped first, so <mark> is the only markup a client can receive
+    private static String toHtmlSnippet(String snippet) {
+        if (snippet == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(snippet)
+                .replace(String.valueOf(ExhibitRepository.SNIPPET_MATCH_START), "<mark>")
+                .replace(String.valueOf(ExhibitRepository.SNIPPET_MATCH_END), "</mark>");
+    }
+
+    private ExhibitSummaryResponse mapToSummaryResponse(ExhibitSummary exhibit) {
+        return ExhibitSummaryResponse.builder()
+                .id(exhibit.id())
+                .name(exhibit.name())
+                .excerpt(exhibit.excerpt())
+                .productionYear(exhibit.productionYear())
+                .imageUrl(mediaStorageService.urlFor(exhibit.imageHash()))
+                .thumbnailUrl(mediaStorageService.urlFor(exhibit.imageHash(), ImageVariant.THUMBNAIL))
+                .cardUrl(mediaStorageService.urlFor(exhibit.imageHash(), ImageVariant.CARD))
+                .category(exhibit.category())
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package muzeum_wrzesien1939_api.exhibit.service;
+
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Translates {@link ExhibitSearchCriteria} into JPA predicates evaluated by PostgreSQL.
+ */
+public final class ExhibitSpecifications {
+
+    private ExhibitSpecifications() {
+    }
+
+    public static Specification<Exhibit> fromCriteria(ExhibitSearchCriteria criteria) {
+        List<Specification<Exhibit>> specifications = new ArrayList<>();
+        if (criteria != null) {
+            if (criteria.getName() != null && !criteria.getName().isBlank()) {
+                specifications.add(nameContains(criteria.getName()));
+            }
+            if (criteria.getCategory() != null && !criteria.getCategory().isBlank()) {
+                specifications.add(hasCategory(criteria.getCategory()));
+            }
+            if (criteria.getProductionYear() != null) {
+                specifications.add(producedIn(criteria.getProductionYear()));
+            }
+        }
+        return Specification.allOf(specifications);
+    }
+
+    // Backed by the trigram index on lower(name)
+    public static Specification<Exhibit> nameContains(String name) {
+        String pattern = "%" + escapeLike(name.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, '\\');
+    }
+
+    public static Specification<Exhibit> hasCategory(String category) {
+        return Arrays.stream(ExhibitCategory.values())
+                .filter(c -> c.name().equalsIgnoreCase(category.trim()))
+                .findFirst()
+                .<Specification<Exhibit>>map(c -> (root, query, cb) -> cb.equal(root.get("category"), c))
+                .orElse((root, query, cb) -> cb.disjunction());
+    }
+
+    public static Specification<Exhibit> producedIn(int year) {
+        String value = String.valueOf(year);
+        return (root, query, cb) -> cb.equal(root.get("productionYear"), value);
+    }
+
+    /**
+     * Keyset predicate: rows strictly after (name, id) in the catalog order.
+     */
+    public static Specification<Exhibit> after(String name, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("name"), name),
+                cb.and(cb.equal(root.get("name"), name), cb.greaterThan(root.get("id"), id)));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
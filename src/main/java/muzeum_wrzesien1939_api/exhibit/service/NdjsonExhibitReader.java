@@ -0,0 +1,51 @@
+package muzeum_wrzesien1939_api.exhibit.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON object per line with the fields of {@link ExhibitRequest}.
+ */
+class NdjsonExhibitReader implements ExhibitRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+    private String current;
+
+    NdjsonExhibitReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                current = line;
+                return true;
+            }
+        }
+        current = null;
+        return false;
+    }
+
+    @Override
+    public long line() {
+        return lineNumber;
+    }
+
+    @Override
+    public ExhibitRequest request() {
+        try {
+            return objectMapper.readValue(current, ExhibitRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -6,11 +6,19 @@ import lombok.RequiredArgsConstructor;
 import muzeum_wrzesien1939_api.exhibition.service.ExhibitionRequest;
 import muzeum_wrzesien1939_api.exhibition.service.ExhibitionResponse;
 import muzeum_wrzesien1939_api.exhibition.service.ExhibitionService;
+import muzeum_wrzesien1939_api.exhibition.service.ExhibitionSummaryResponse;
+import muzeum_wrzesien1939_api.export.ExportFormat;
+import muzeum_wrzesien1939_api.export.ExportResponses;
+import muzeum_wrzesien1939_api.pagination.CursorPage;
+import muzeum_wrzesien1939_api.versioning.ConditionalRequests;
+import muzeum_wrzesien1939_api.versioning.VersionStamp;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/v1/exhibitions")
@@ -20,16 +28,31 @@ public class ExhibitionController {
 
     private final ExhibitionService service;
 
-    @Operation(summary = "Get all exhibitions", description = "Returns list of curated collections.")
+    @Operation(summary = "Get all exhibitions", description = "Returns a page of curated collections. Pass nextCursor as 'after' for the next page.")
     @GetMapping
-    public ResponseEntity<List<ExhibitionResponse>> getAll() {
-        return ResponseEntity.ok(service.getAllExhibitions());
+    public ResponseEntity<CursorPage<ExhibitionSummaryResponse>> getAll(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            ServletWebRequest webRequest
+    ) {
+        VersionStamp[] versions = service.getCatalogVersion().toArray(VersionStamp[]::new);
+        String resource = "exhibitions-" + Integer.toHexString(Objects.hash(after, CursorPage.limit(limit)));
+        String etag = ConditionalRequests.etag(resource, versions);
+        if (ConditionalRequests.notModified(webRequest, etag, ConditionalRequests.lastModified(versions), ConditionalRequests.LIST_CACHE_CONTROL)) {
+            return null;
+        }
+        return ConditionalRequests.ok(resource, service.getAllExhibitions(after, limit), ConditionalRequests.LIST_CACHE_CONTROL);
     }
 
     @Operation(summary = "Get exhibition details", description = "Returns exhibition info and all items inside it.")
     @GetMapping("/{id}")
-    public ResponseEntity<ExhibitionResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getExhibitionById(id));
+    public ResponseEntity<ExhibitionResponse> getById(@PathVariable Long id, ServletWebRequest webRequest) {
+        VersionStamp version = service.getExhibitionVersion(id);
+        String etag = ConditionalRequests.etag("exhibition-" + id, version);
+        if (ConditionalRequests.notModified(webRequest, etag, version.getLastModified(), ConditionalRequests.ITEM_CACHE_CONTROL)) {
+            return null;
+        }
+        return ConditionalRequests.ok("exhibition-" + id, service.getExhibitionById(id), ConditionalRequests.ITEM_CACHE_CONTROL);
     }
 
     @Operation(summary = "Create exhibition", description = "Admin creates a collection and assigns item IDs.")
@@ -56,4 +79,15 @@ public class ExhibitionController {
         service.deleteExhibition(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Export exhibitions", description = "Streams all exhibitions as NDJSON (default) or CSV (format=csv) without loading them into memory (ADMIN only). With spreadsheet=true the CSV is safe to open in a spreadsheet (cells starting with =, +, - or @ get a ' prefix) but no longer suitable for re-import.")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExhibitions(
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean spreadsheet
+    ) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format, spreadsheet);
+        return ExportResponses.attachment("exhibitions", exportFormat, out -> service.exportExhibitions(exportFormat, out));
+    }
 }
\ No newline at end of file
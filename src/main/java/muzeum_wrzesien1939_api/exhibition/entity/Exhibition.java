@@ -6,7 +6,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.List;
 
 @Data
@@ -27,9 +29,9 @@ public class Exhibition {
     @Column(length = 2000)
     private String description;
 
-    //TODO maybe use binary image data
-    @Column(columnDefinition = "TEXT")
-    private String backgroundImageUrl;
+    // SHA-256 of the image in the media store
+    @Column(length = 64)
+    private String backgroundImageHash;
 
     @ManyToMany
     @JoinTable(
@@ -38,4 +40,11 @@ public class Exhibition {
             inverseJoinColumns = @JoinColumn(name = "exhibit_id")
     )
     private List<Exhibit> exhibits;
+
+    // Drive ETag / Last-Modified of the catalog endpoints; changes to the exhibit list bump the version too
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
 }
\ No newline at end of file
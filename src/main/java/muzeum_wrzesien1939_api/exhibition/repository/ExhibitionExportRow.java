@@ -0,0 +1,16 @@
+package muzeum_wrzesien1939_api.exhibition.repository;
+
+import java.time.Instant;
+
+/**
+ * One exhibition of the export; exhibitIds is a space-separated list.
+ */
+public record ExhibitionExportRow(
+        Long id,
+        String name,
+        String description,
+        String backgroundImageHash,
+        Instant updatedAt,
+        String exhibitIds
+) {
+}
@@ -0,0 +1,17 @@
+package muzeum_wrzesien1939_api.exhibition.repository;
+
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+
+/**
+ * Summary of an exhibit together with the exhibition it belongs to; rows of the batched list assembly.
+ */
+public record ExhibitionItemSummary(
+        Long exhibitionId,
+        Long id,
+        String name,
+        ExhibitCategory category,
+        String productionYear,
+        String imageHash,
+        String excerpt
+) {
+}
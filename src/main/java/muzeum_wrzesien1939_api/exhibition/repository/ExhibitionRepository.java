@@ -1,7 +1,60 @@
 package muzeum_wrzesien1939_api.exhibition.repository;
 
+import jakarta.persistence.QueryHint;
 import muzeum_wrzesien1939_api.exhibition.entity.Exhibition;
+import muzeum_wrzesien1939_api.export.ExportWriter;
+import muzeum_wrzesien1939_api.versioning.VersionStamp;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ExhibitionRepository extends JpaRepository<Exhibition, Long> {
+
+    List<Exhibition> findAllByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "exhibits")
+    Optional<Exhibition> findWithExhibitsById(Long id);
+
+    // Second step of the list assembly: exhibit summaries of a whole page of exhibitions in one query
+    @Query("""
+            select new muzeum_wrzesien1939_api.exhibition.repository.ExhibitionItemSummary(
+                x.id, e.id, e.name, e.category, e.productionYear, e.imageHash, substring(e.description, 1, 200))
+            from Exhibition x join x.exhibits e
+            where x.id in :exhibitionIds
+            order by x.id, e.id
+            """)
+    List<ExhibitionItemSummary> findItemSummaries(Collection<Long> exhibitionIds);
+
+    // The exhibition embeds its exhibits, so their versions are part of the fingerprint
+    @Query("""
+            select x.version + count(e) + coalesce(sum(e.version), 0) as version,
+                   greatest(x.updatedAt, coalesce(max(e.updatedAt), x.updatedAt)) as lastModified
+            from Exhibition x left join x.exhibits e
+            where x.id = :id
+            group by x.id, x.version, x.updatedAt
+            """)
+    Optional<VersionStamp> findVersionStampById(Long id);
+
+    @Query("select count(x) + coalesce(sum(x.version), 0) as version, max(x.updatedAt) as lastModified from Exhibition x")
+    VersionStamp findCatalogVersionStamp();
+
+    // Export: the exhibit ids are aggregated in the database instead of loading every exhibit list
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportWriter.FETCH_SIZE))
+    @Query("""
+            select new muzeum_wrzesien1939_api.exhibition.repository.ExhibitionExportRow(
+                x.id, x.name, x.description, x.backgroundImageHash, x.updatedAt,
+                listagg(cast(e.id as String), ' ') within group (order by e.id))
+            from Exhibition x left join x.exhibits e
+            group by x.id, x.name, x.description, x.backgroundImageHash, x.updatedAt
+            order by x.id
+            """)
+    Stream<ExhibitionExportRow> streamExportRows();
 }
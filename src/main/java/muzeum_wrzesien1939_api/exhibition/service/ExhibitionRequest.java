@@ -7,6 +7,7 @@ import java.util.List;
 public class ExhibitionRequest {
     private String name;
     private String description;
+    private String backgroundImageId;
     private String backgroundImageUrl;
     private List<Long> exhibitIds;
 }
\ No newline at end of file
@@ -13,5 +13,6 @@ public class ExhibitionResponse {
     private String name;
     private String description;
     private String backgroundImageUrl;
+    private String backgroundFullUrl;
     private List<ExhibitResponse> exhibits;
 }
\ No newline at end of file
@@ -1,49 +1,140 @@
 package muzeum_wrzesien1939_api.exhibition.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import muzeum_wrzesien1939_api.config.CacheConfig;
+import muzeum_wrzesien1939_api.datasource.PrimaryReads;
 import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
 import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
 import muzeum_wrzesien1939_api.exhibit.service.ExhibitResponse;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitSummaryResponse;
 import muzeum_wrzesien1939_api.exhibition.entity.Exhibition;
+import muzeum_wrzesien1939_api.exhibition.repository.ExhibitionExportRow;
+import muzeum_wrzesien1939_api.exhibition.repository.ExhibitionItemSummary;
 import muzeum_wrzesien1939_api.exhibition.repository.ExhibitionRepository;
+import muzeum_wrzesien1939_api.export.ExportColumn;
+import muzeum_wrzesien1939_api.export.ExportFormat;
+import muzeum_wrzesien1939_api.export.ExportWriter;
+import muzeum_wrzesien1939_api.media.entity.ImageVariant;
+import muzeum_wrzesien1939_api.media.service.ImageVariantService;
+import muzeum_wrzesien1939_api.media.service.MediaStorageService;
+import muzeum_wrzesien1939_api.pagination.CursorPage;
+import muzeum_wrzesien1939_api.pagination.PageCursor;
+import muzeum_wrzesien1939_api.versioning.VersionStamp;
+import muzeum_wrzesien1939_api.versioning.Versioned;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ExhibitionService {
 
+    private static final List<ExportColumn<ExhibitionExportRow>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", ExhibitionExportRow::id),
+            ExportColumn.of("name", ExhibitionExportRow::name),
+            ExportColumn.of("description", ExhibitionExportRow::description),
+            ExportColumn.of("backgroundImageId", ExhibitionExportRow::backgroundImageHash),
+            ExportColumn.of("exhibitIds", ExhibitionExportRow::exhibitIds),
+            ExportColumn.of("updatedAt", ExhibitionExportRow::updatedAt));
+
     private final ExhibitionRepository exhibitionRepository;
     private final ExhibitRepository exhibitRepository;
+    private final MediaStorageService mediaStorageService;
+    private final ImageVariantService imageVariantService;
+    private final ExportWriter exportWriter;
+
+    /**
+     * Builds a page in the same number of queries regardless of its size: the version stamps, the
+     * exhibitions themselves, then the summaries of all their exhibits through one IN query (no lazy
+     * collection is touched).
+     * Like every cached read, it runs on the primary: a lagging replica would cache a pre-write state.
+     * The stamps are read before the page, so a concurrent write can only make the page newer than its ETag.
+     */
+    @Timed(value = "museum.exhibitions.list", description = "Exhibition page with previews")
+    @Cacheable(cacheNames = CacheConfig.EXHIBITION_PAGES,
+            key = "{#after, T(muzeum_wrzesien1939_api.pagination.CursorPage).limit(#limit)}")
+    public Versioned<CursorPage<ExhibitionSummaryResponse>> getAllExhibitions(String after, Integer limit) {
+        return PrimaryReads.call(() -> {
+            List<VersionStamp> versions = getCatalogVersion();
+            return Versioned.of(loadExhibitions(after, limit), versions);
+        });
+    }
 
-    public List<ExhibitionResponse> getAllExhibitions() {
-        return exhibitionRepository.findAll()
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    private CursorPage<ExhibitionSummaryResponse> loadExhibitions(String after, Integer limit) {
+        int pageSize = CursorPage.limit(limit);
+        long afterId = after == null ? 0L : Long.parseLong(PageCursor.decode(after, 1).get(0));
+
+        List<Exhibition> rows = exhibitionRepository.findAllByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        List<Long> pageIds = rows.stream().limit(pageSize).map(Exhibition::getId).toList();
+
+        Map<Long, List<ExhibitSummaryResponse>> exhibitsByExhibition = pageIds.isEmpty()
+                ? Map.of()
+                : exhibitionRepository.findItemSummaries(pageIds).stream()
+                        .collect(Collectors.groupingBy(ExhibitionItemSummary::exhibitionId,
+                                Collectors.mapping(this::mapToItemResponse, Collectors.toList())));
+
+        return CursorPage.of(
+                rows,
+                pageSize,
+                e -> PageCursor.encode(e.getId()),
+                e -> mapToSummaryResponse(e, exhibitsByExhibition.getOrDefault(e.getId(), List.of())));
     }
 
-    public ExhibitionResponse getExhibitionById(Long id) {
-        Exhibition exhibition = exhibitionRepository.findById(id)
+    @Timed(value = "museum.exhibitions.get", description = "Exhibition assembly")
+    @Cacheable(cacheNames = CacheConfig.EXHIBITIONS, key = "#id")
+    public Versioned<ExhibitionResponse> getExhibitionById(Long id) {
+        return PrimaryReads.call(() -> {
+            VersionStamp version = getExhibitionVersion(id);
+            Exhibition exhibition = exhibitionRepository.findWithExhibitsById(id)
+                    .orElseThrow(() -> new RuntimeException("Exhibition not found"));
+            return Versioned.of(mapToResponse(exhibition), version);
+        });
+    }
+
+    public VersionStamp getExhibitionVersion(Long id) {
+        return exhibitionRepository.findVersionStampById(id)
                 .orElseThrow(() -> new RuntimeException("Exhibition not found"));
-        return mapToResponse(exhibition);
     }
 
+    // Exhibition lists embed exhibits, so both tables take part in the list fingerprint
+    public List<VersionStamp> getCatalogVersion() {
+        return List.of(exhibitionRepository.findCatalogVersionStamp(), exhibitRepository.findCatalogVersionStamp());
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.EXHIBITION_PAGES, allEntries = true)
+    @Transactional
     public ExhibitionResponse createExhibition(ExhibitionRequest request) {
         List<Exhibit> selectedExhibits = exhibitRepository.findAllById(request.getExhibitIds());
 
         Exhibition exhibition = Exhibition.builder()
                 .name(request.getName())
                 .description(request.getDescription())
-                .backgroundImageUrl(request.getBackgroundImageUrl())
+                .backgroundImageHash(mediaStorageService.resolveReference(request.getBackgroundImageId(), request.getBackgroundImageUrl()))
                 .exhibits(selectedExhibits)
                 .build();
 
-        return mapToResponse(exhibitionRepository.save(exhibition));
+        Exhibition savedExhibition = exhibitionRepository.save(exhibition);
+        imageVariantService.requestVariants(savedExhibition.getBackgroundImageHash());
+        return mapToResponse(savedExhibition);
     }
 
+    // Evicted rather than put, the cached stamp is read together with the entry
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EXHIBITIONS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EXHIBITION_PAGES, allEntries = true)
+    })
+    @Transactional
     public ExhibitionResponse updateExhibition(Long id, ExhibitionRequest request) {
         Exhibition exhibition = exhibitionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Exhibition not found"));
@@ -51,8 +142,10 @@ public class ExhibitionService {
         exhibition.setName(request.getName());
         exhibition.setDescription(request.getDescription());
 
-        if (request.getBackgroundImageUrl() != null && !request.getBackgroundImageUrl().isEmpty()) {
-            exhibition.setBackgroundImageUrl(request.getBackgroundImageUrl());
+        String backgroundImageHash = mediaStorageService.resolveReference(request.getBackgroundImageId(), request.getBackgroundImageUrl());
+        if (backgroundImageHash != null) {
+            exhibition.setBackgroundImageHash(backgroundImageHash);
+            imageVariantService.requestVariants(exhibition.getBackgroundImageHash());
         }
 
         if (request.getExhibitIds() != null) {
@@ -63,6 +156,11 @@ public class ExhibitionService {
         return mapToResponse(exhibitionRepository.save(exhibition));
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EXHIBITIONS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EXHIBITION_PAGES, allEntries = true)
+    })
+    @Transactional
     public void deleteExhibition(Long id) {
         if (!exhibitionRepository.existsById(id)) {
             throw new RuntimeException("Exhibition not found");
@@ -71,12 +169,22 @@ public class ExhibitionService {
         exhibitionRepository.deleteById(id);
     }
 
+    @Timed(value = "museum.exhibitions.export", description = "Streaming exhibition export")
+    public long exportExhibitions(ExportFormat format, OutputStream out) {
+        try (Stream<ExhibitionExportRow> rows = exhibitionRepository.streamExportRows()) {
+            return exportWriter.write(rows, format, EXPORT_COLUMNS, out);
+        }
+    }
+
     private ExhibitionResponse mapToResponse(Exhibition exhibition) {
         List<ExhibitResponse> exhibitResponses = exhibition.getExhibits().stream()
                 .map(e -> ExhibitResponse.builder()
                         .id(e.getId())
                         .name(e.getName())
-                        .imageUrl(e.getImageUrl())
+                        .imageUrl(mediaStorageService.urlFor(e.getImageHash()))
+                        .thumbnailUrl(mediaStorageService.urlFor(e.getImageHash(), ImageVariant.THUMBNAIL))
+                        .cardUrl(mediaStorageService.urlFor(e.getImageHash(), ImageVariant.CARD))
+                        .fullUrl(mediaStorageService.urlFor(e.getImageHash(), ImageVariant.FULL))
                         .category(e.getCategory())
                         .description(e.getDescription())
                         .productionYear(e.getProductionYear())
@@ -87,8 +195,33 @@ public class ExhibitionService {
                 .id(exhibition.getId())
                 .name(exhibition.getName())
                 .description(exhibition.getDescription())
-                .backgroundImageUrl(exhibition.getBackgroundImageUrl())
+                .backgroundImageUrl(mediaStorageService.urlFor(exhibition.getBackgroundImageHash()))
+                .backgroundFullUrl(mediaStorageService.urlFor(exhibition.getBackgroundImageHash(), ImageVariant.FULL))
                 .exhibits(exhibitResponses)
                 .build();
     }
+
+    private ExhibitionSummaryResponse mapToSummaryResponse(Exhibition exhibition, List<ExhibitSummaryResponse> exhibits) {
+        return ExhibitionSummaryResponse.builder()
+                .id(exhibition.getId())
+                .name(exhibition.getName())
+                .description(exhibition.getDescription())
+                .backgroundImageUrl(mediaStorageService.urlFor(exhibition.getBackgroundImageHash()))
+                .backgroundCardUrl(mediaStorageService.urlFor(exhibition.getBackgroundImageHash(), ImageVariant.CARD))
+                .exhibits(exhibits)
+                .build();
+    }
+
+    private ExhibitSummaryResponse mapToItemResponse(ExhibitionItemSummary item) {
+        return ExhibitSummaryResponse.builder()
+                .id(item.id())
+                .name(item.name())
+                .excerpt(item.excerpt())
+                .productionYear(item.productionYear())
+                .imageUrl(mediaStorageService.urlFor(item.imageHash()))
+                .thumbnailUrl(mediaStorageService.urlFor(item.imageHash(), ImageVariant.THUMBNAIL))
+                .cardUrl(mediaStorageService.urlFor(item.imageHash(), ImageVariant.CARD))
+                .category(item.category())
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package muzeum_wrzesien1939_api.exhibition.service;
+
+import lombok.Builder;
+import lombok.Data;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitSummaryResponse;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ExhibitionSummaryResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private String backgroundImageUrl;
+    private String backgroundCardUrl;
+    private List<ExhibitSummaryResponse> exhibits;
+}
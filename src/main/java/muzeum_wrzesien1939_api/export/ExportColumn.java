@@ -0,0 +1,13 @@
+package muzeum_wrzesien1939_api.export;
+
+import java.util.function.Function;
+
+/**
+ * One field of an export: the CSV header / JSON property name and how to read it from a row.
+ */
+public record ExportColumn<T>(String name, Function<T, ?> value) {
+
+    public static <T> ExportColumn<T> of(String name, Function<T, ?> value) {
+        return new ExportColumn<>(name, value);
+    }
+}
@@ -0,0 +1,55 @@
+package muzeum_wrzesien1939_api.export;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv;charset=UTF-8", "csv"),
+    // CSV meant to be opened in a spreadsheet: text starting with = + - @ is prefixed with ' so it is
+    // not evaluated as a formula. The prefix stays in the data, so such a file is not for re-import.
+    SPREADSHEET_CSV("text/csv;charset=UTF-8", "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public boolean isCsv() {
+        return this != NDJSON;
+    }
+
+    public static ExportFormat fromParam(String value, boolean spreadsheet) {
+        ExportFormat format = fromParam(value);
+        if (!spreadsheet) {
+            return format;
+        }
+        if (format != CSV) {
+            throw new RuntimeException("spreadsheet=true is only supported for format=csv");
+        }
+        return SPREADSHEET_CSV;
+    }
+
+    private static ExportFormat fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "ndjson" -> NDJSON;
+            case "csv" -> CSV;
+            default -> throw new RuntimeException("Unsupported export format: " + value + " (expected ndjson or csv)");
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package muzeum_wrzesien1939_api.export;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+public final class ExportResponses {
+
+    private ExportResponses() {
+    }
+
+    /**
+     * The body runs on the MVC async executor after the controller returns, so it has to open
+     * its own transaction; exports therefore call a transactional service method from the body.
+     */
+    public static ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format, StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now() + "." + format.extension();
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,104 @@
+package muzeum_wrzesien1939_api.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of rows to the response as NDJSON or CSV while it is being read from the
+ * database. Repositories back such streams with a server-side cursor ({@link #FETCH_SIZE} rows
+ * per round trip), and the persistence context is cleared after every fetch, so heap use does
+ * not depend on the number of exported rows. Must run inside a (read-only) transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExportWriter {
+
+    /**
+     * Fetch size hint for the streaming repository queries; PostgreSQL only uses a cursor
+     * when auto-commit is off, which the pool guarantees (spring.datasource.hikari.auto-commit).
+     */
+    public static final String FETCH_SIZE = "500";
+
+    private static final int CLEAR_INTERVAL = Integer.parseInt(FETCH_SIZE);
+
+    private static final char UTF8_BOM = '\uFEFF';
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> long write(Stream<T> rows, ExportFormat format, List<ExportColumn<T>> columns, OutputStream out) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (format.isCsv()) {
+                // Lets spreadsheet applications recognise UTF-8 (Polish diacritics)
+                writer.write(UTF8_BOM);
+                writeCsvLine(writer, columns.stream().map(ExportColumn::name).toList(), false);
+            }
+
+            long count = 0;
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                if (format.isCsv()) {
+                    writeCsvLine(writer, columns.stream().map(column -> column.value().apply(row)).toList(),
+                            format == ExportFormat.SPREADSHEET_CSV);
+                } else {
+                    Map<String, Object> json = new LinkedHashMap<>();
+                    columns.forEach(column -> json.put(column.name(), column.value().apply(row)));
+                    writer.write(objectMapper.writeValueAsString(json));
+                    writer.write('\n');
+                }
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+            writer.flush();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export interrupted", e);
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values, boolean guardFormulas) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(values.get(i), guardFormulas));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvValue(Object value, boolean guardFormulas) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Free text from users must not be evaluated as a formula when the file is opened in a spreadsheet
+        if (guardFormulas && value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,78 @@
+package muzeum_wrzesien1939_api.media;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import muzeum_wrzesien1939_api.media.entity.ImageVariant;
+import muzeum_wrzesien1939_api.media.service.ImageVariantService;
+import muzeum_wrzesien1939_api.media.service.MediaStorageService;
+import muzeum_wrzesien1939_api.media.service.MediaUploadResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/media")
+@RequiredArgsConstructor
+@Tag(name = "Media", description = "Binary image storage")
+public class MediaController {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    // The variant URL will serve a smaller image once it is generated
+    private static final CacheControl PENDING_VARIANT = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+
+    private final MediaStorageService service;
+    private final ImageVariantService imageVariantService;
+
+    @Operation(summary = "Get image", description = "Streams the stored image bytes identified by their SHA-256 hash. "
+            + "Pass variant=thumbnail|card|full for a downscaled JPEG; the original is returned until the variant is ready.")
+    @GetMapping("/{hash}")
+    public ResponseEntity<Resource> getMedia(@PathVariable String hash, @RequestParam(required = false) String variant) {
+        if (variant == null) {
+            return serve(hash, IMMUTABLE);
+        }
+        return imageVariantService.findVariant(hash, ImageVariant.fromParam(variant))
+                .map(variantHash -> serve(variantHash, IMMUTABLE))
+                .orElseGet(() -> serve(hash, PENDING_VARIANT));
+    }
+
+    @Operation(summary = "Upload image", description = "Streams a JPEG, PNG, GIF or WebP file (multipart field 'file') into the media store. "
+            + "Returns the media id to reference as imageId/backgroundImageId in exhibit, exhibition and donation requests.")
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MediaUploadResponse> upload(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new RuntimeException("File is empty");
+        }
+
+        String hash;
+        try (InputStream in = file.getInputStream()) {
+            hash = service.store(in);
+        }
+        imageVariantService.requestVariants(hash);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(MediaUploadResponse.builder()
+                .id(hash)
+                .url(service.urlFor(hash))
+                .thumbnailUrl(service.urlFor(hash, ImageVariant.THUMBNAIL))
+                .build());
+    }
+
+    private ResponseEntity<Resource> serve(String hash, CacheControl cacheControl) {
+        return service.load(hash)
+                .map(media -> ResponseEntity.ok()
+                        .contentType(media.contentType() != null ? media.contentType() : MediaType.APPLICATION_OCTET_STREAM)
+                        .cacheControl(cacheControl)
+                        .eTag(media.hash())
+                        .body(media.resource()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,42 @@
+package muzeum_wrzesien1939_api.media.entity;
+
+import java.util.Locale;
+
+/**
+ * Downscaled renditions generated for every stored image, largest first.
+ * Sizes are the longest edge in pixels.
+ */
+public enum ImageVariant {
+    FULL(1600, 0.85f),
+    CARD(640, 0.80f),
+    THUMBNAIL(240, 0.70f);
+
+    private final int maxDimension;
+    private final float quality;
+
+    ImageVariant(int maxDimension, float quality) {
+        this.maxDimension = maxDimension;
+        this.quality = quality;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public float getQuality() {
+        return quality;
+    }
+
+    public String paramValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ImageVariant fromParam(String value) {
+        for (ImageVariant variant : values()) {
+            if (variant.paramValue().equalsIgnoreCase(value)) {
+                return variant;
+            }
+        }
+        throw new RuntimeException("Unknown image variant: " + value);
+    }
+}
@@ -0,0 +1,40 @@
+package muzeum_wrzesien1939_api.media.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Maps an original image to the stored hash of one of its variants.
+ * A variant may point back at the original when re-encoding would not make it smaller.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "media_variants", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_media_variants_original_variant", columnNames = {"originalHash", "variant"})
+})
+public class MediaVariant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String originalHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ImageVariant variant;
+
+    @Column(nullable = false, length = 64)
+    private String variantHash;
+
+    private int width;
+
+    private int height;
+}
@@ -0,0 +1,15 @@
+package muzeum_wrzesien1939_api.media.repository;
+
+import muzeum_wrzesien1939_api.media.entity.ImageVariant;
+import muzeum_wrzesien1939_api.media.entity.MediaVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MediaVariantRepository extends JpaRepository<MediaVariant, Long> {
+
+    List<MediaVariant> findAllByOriginalHash(String originalHash);
+
+    Optional<MediaVariant> findByOriginalHashAndVariant(String originalHash, ImageVariant variant);
+}
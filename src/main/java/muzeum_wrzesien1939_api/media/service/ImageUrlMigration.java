@@ -0,0 +1,95 @@
+package muzeum_wrzesien1939_api.media.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Flyway migration V10: moves the base64 data URLs that releases before the media store kept in
+ * image_url columns into {@link MediaStorageService}, writes their hashes and only then drops the
+ * old columns. A value that cannot be stored fails the migration (and rolls it back) instead of
+ * being dropped; fix or clear that row and restart. Variants are generated on first request.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageUrlMigration implements JavaMigration {
+
+    // Data URLs are up to a few hundred KB each, so only a few rows are fetched at a time
+    private static final int FETCH_SIZE = 20;
+
+    private final MediaStorageService mediaStorageService;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("10");
+    }
+
+    @Override
+    public String getDescription() {
+        return "move images to media store";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        move(connection, "exhibits", "image_url", "image_hash");
+        move(connection, "exhibitions", "background_image_url", "background_image_hash");
+        move(connection, "donations", "image_url", "image_hash");
+    }
+
+    // The old admin form sent an empty string for "no image"; those rows simply keep a null hash
+    private void move(Connection connection, String table, String urlColumn, String hashColumn) throws SQLException {
+        int moved = 0;
+        try (PreparedStatement select = connection.prepareStatement(
+                     "SELECT id, " + urlColumn + " FROM " + table + " WHERE btrim(" + urlColumn + ") <> '' ORDER BY id");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE " + table + " SET " + hashColumn + " = ? WHERE id = ?")) {
+            select.setFetchSize(FETCH_SIZE);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    long id = rows.getLong(1);
+                    update.setString(1, store(table, id, rows.getString(2)));
+                    update.setLong(2, id);
+                    update.executeUpdate();
+                    moved++;
+                }
+            }
+        }
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("ALTER TABLE " + table + " DROP COLUMN " + urlColumn);
+        }
+        log.info("Moved {} images of {} to the media store", moved, table);
+    }
+
+    private String store(String table, long id, String imageUrl) {
+        if (!imageUrl.startsWith("data:")) {
+            throw new IllegalStateException("Image of " + table + " row " + id + " is not a data URL: "
+                    + imageUrl.substring(0, Math.min(imageUrl.length(), 100)));
+        }
+        try {
+            return mediaStorageService.resolveReference(imageUrl);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Image of " + table + " row " + id + " cannot be stored: " + e.getMessage(), e);
+        }
+    }
+}
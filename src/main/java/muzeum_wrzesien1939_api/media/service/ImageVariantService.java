@@ -0,0 +1,177 @@
+package muzeum_wrzesien1939_api.media.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import muzeum_wrzesien1939_api.media.entity.ImageVariant;
+import muzeum_wrzesien1939_api.media.entity.MediaVariant;
+import muzeum_wrzesien1939_api.media.repository.MediaVariantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the {@link ImageVariant} renditions of stored images on a small bounded worker pool.
+ * Writes request variants right after storing an image; reads of a variant that does not exist yet
+ * fall back to the original and queue the generation again, so a full queue only delays variants.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageVariantService {
+
+    private final MediaStorageService mediaStorageService;
+    private final MediaVariantRepository mediaVariantRepository;
+
+    @Value("${application.media.variant-workers}")
+    private int workers;
+
+    @Value("${application.media.variant-queue-capacity}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Variants never change once generated, so positive lookups can be kept
+    private final Cache<String, String> variantHashes = Caffeine.newBuilder()
+            .maximumSize(20_000)
+            .build();
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("image-variant-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public void requestVariants(String originalHash) {
+        if (originalHash == null || !inFlight.add(originalHash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generateVariants(originalHash);
+                } catch (Exception e) {
+                    log.warn("Could not generate variants of image {}", originalHash, e);
+                } finally {
+                    inFlight.remove(originalHash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(originalHash);
+        }
+    }
+
+    /**
+     * Generates the missing variants on the calling thread, for callers that must know they
+     * exist afterwards (the donation review pipeline) rather than fire and forget.
+     */
+    public void generateVariantsNow(String originalHash) {
+        if (originalHash == null) {
+            return;
+        }
+        try {
+            generateVariants(originalHash);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not generate variants of image " + originalHash, e);
+        }
+    }
+
+    public Optional<String> findVariant(String originalHash, ImageVariant variant) {
+        String key = originalHash + ":" + variant;
+        String cached = variantHashes.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<String> variantHash = mediaVariantRepository.findByOriginalHashAndVariant(originalHash, variant)
+                .map(MediaVariant::getVariantHash);
+        if (variantHash.isPresent()) {
+            variantHashes.put(key, variantHash.get());
+        } else if (mediaStorageService.load(originalHash).isPresent()) {
+            requestVariants(originalHash);
+        }
+        return variantHash;
+    }
+
+    private void generateVariants(String originalHash) throws IOException {
+        StoredMedia original = mediaStorageService.load(originalHash).orElse(null);
+        if (original == null) {
+            return;
+        }
+
+        Set<ImageVariant> missing = EnumSet.allOf(ImageVariant.class);
+        mediaVariantRepository.findAllByOriginalHash(originalHash).forEach(v -> missing.remove(v.getVariant()));
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        // Decoded once; each variant is scaled down from the previous, larger one
+        BufferedImage image;
+        try (InputStream in = original.resource().getInputStream()) {
+            image = ImageResizer.decode(in, ImageVariant.FULL.getMaxDimension());
+        }
+
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (image == null) {
+                // Formats the JDK cannot decode are served as they are
+                saveVariant(originalHash, variant, originalHash, 0, 0, missing);
+                continue;
+            }
+
+            boolean alreadySmall = Math.max(image.getWidth(), image.getHeight()) <= variant.getMaxDimension();
+            image = ImageResizer.scaleToFit(image, variant.getMaxDimension());
+
+            if (alreadySmall && MediaType.IMAGE_JPEG.equals(original.contentType())) {
+                saveVariant(originalHash, variant, originalHash, image.getWidth(), image.getHeight(), missing);
+            } else {
+                String variantHash = mediaStorageService.store(ImageResizer.encodeJpeg(image, variant.getQuality()));
+                saveVariant(originalHash, variant, variantHash, image.getWidth(), image.getHeight(), missing);
+            }
+        }
+    }
+
+    private void saveVariant(String originalHash, ImageVariant variant, String variantHash, int width, int height,
+                             Set<ImageVariant> missing) {
+        if (!missing.contains(variant)) {
+            return;
+        }
+        try {
+            mediaVariantRepository.save(MediaVariant.builder()
+                    .originalHash(originalHash)
+                    .variant(variant)
+                    .variantHash(variantHash)
+                    .width(width)
+                    .height(height)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Another instance generated it first
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package muzeum_wrzesien1939_api.media.service;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import muzeum_wrzesien1939_api.media.entity.ImageVariant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image store. Every image is written once to the local filesystem under
+ * its SHA-256 hash; entities keep only that hash and clients fetch the bytes via {@code /api/v1/media/{hash}}.
+ */
+@Service
+public class MediaStorageService {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern MEDIA_URL_PATTERN = Pattern.compile(".*/media/([0-9a-f]{64})(\\?.*)?$");
+
+    @Value("${application.media.storage-dir}")
+    private Path storageDir;
+
+    @Value("${application.media.base-url}")
+    private String baseUrl;
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(storageDir);
+    }
+
+    /**
+     * Prefers the id returned by {@code POST /api/v1/media}; the inline reference is kept for older clients.
+     */
+    public String resolveReference(String mediaId, String reference) {
+        if (mediaId != null && !mediaId.isBlank()) {
+            if (!HASH_PATTERN.matcher(mediaId).matches()) {
+                throw new RuntimeException("Invalid media id");
+            }
+            return requireExisting(mediaId);
+        }
+        return resolveReference(reference);
+    }
+
+    /**
+     * Turns an image reference sent by the client into a media hash.
+     * Accepts base64 data URLs (stored on the fly), media URLs returned by the API and bare hashes.
+     */
+    public String resolveReference(String reference) {
+        if (reference == null || reference.isBlank()) {
+            return null;
+        }
+        if (reference.startsWith("data:")) {
+            return storeDataUrl(reference);
+        }
+        if (HASH_PATTERN.matcher(reference).matches()) {
+            return requireExisting(reference);
+        }
+        Matcher matcher = MEDIA_URL_PATTERN.matcher(reference);
+        if (matcher.matches()) {
+            return requireExisting(matcher.group(1));
+        }
+        throw new RuntimeException("Unsupported image reference");
+    }
+
+    public String store(byte[] bytes) {
+        return store(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Streams the image into a temp file while hashing it, so only a small buffer is ever held in memory.
+     * The format is sniffed from the first bytes before anything is written.
+     */
+    @Timed(value = "museum.media.store", description = "Streaming an upload into the media store")
+    public String store(InputStream input) {
+        try {
+            BufferedInputStream buffered = new BufferedInputStream(input);
+            buffered.mark(MediaTypeDetector.HEADER_LENGTH);
+            if (MediaTypeDetector.detect(buffered.readNBytes(MediaTypeDetector.HEADER_LENGTH)) == null) {
+                throw new RuntimeException("Unsupported image format");
+            }
+            buffered.reset();
+
+            MessageDigest digest = sha256Digest();
+            Path tmp = Files.createTempFile(storageDir, "upload-", ".tmp");
+            try {
+                try (DigestInputStream in = new DigestInputStream(buffered, digest)) {
+                    Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                String hash = HexFormat.of().formatHex(digest.digest());
+                Path target = pathFor(hash);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return hash;
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image", e);
+        }
+    }
+
+    public Optional<StoredMedia> load(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathFor(hash);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(new StoredMedia(hash, new FileSystemResource(path), MediaTypeDetector.detect(readHeader(path))));
+    }
+
+    public String urlFor(String hash) {
+        return hash == null ? null : baseUrl + "/" + hash;
+    }
+
+    public String urlFor(String hash, ImageVariant variant) {
+        return hash == null ? null : urlFor(hash) + "?variant=" + variant.paramValue();
+    }
+
+    private String storeDataUrl(String dataUrl) {
+        int comma = dataUrl.indexOf(',');
+        if (comma < 0 || !dataUrl.substring(0, comma).endsWith(";base64")) {
+            throw new RuntimeException("Image must be a base64 data URL");
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getMimeDecoder().decode(dataUrl.substring(comma + 1));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Image is not valid base64");
+        }
+        return store(bytes);
+    }
+
+    private String requireExisting(String hash) {
+        if (!Files.isRegularFile(pathFor(hash))) {
+            throw new RuntimeException("Image not found");
+        }
+        return hash;
+    }
+
+    private static byte[] readHeader(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            return in.readNBytes(MediaTypeDetector.HEADER_LENGTH);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read image", e);
+        }
+    }
+
+    private Path pathFor(String hash) {
+        return storageDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package muzeum_wrzesien1939_api.media.service;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Recognises the image formats we accept by their magic bytes instead of trusting client headers.
+ */
+public final class MediaTypeDetector {
+
+    public static final int HEADER_LENGTH = 12;
+
+    public static final MediaType IMAGE_WEBP = MediaType.parseMediaType("image/webp");
+
+    private MediaTypeDetector() {
+    }
+
+    public static MediaType detect(byte[] header) {
+        if (startsWith(header, 0xFF, 0xD8, 0xFF)) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (startsWith(header, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return MediaType.IMAGE_PNG;
+        }
+        if (startsWith(header, 'G', 'I', 'F', '8')) {
+            return MediaType.IMAGE_GIF;
+        }
+        if (startsWith(header, 'R', 'I', 'F', 'F') && header.length >= 12
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return IMAGE_WEBP;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] data, int... prefix) {
+        if (data == null || data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
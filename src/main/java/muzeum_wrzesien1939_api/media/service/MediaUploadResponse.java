@@ -0,0 +1,12 @@
+package muzeum_wrzesien1939_api.media.service;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class MediaUploadResponse {
+    private String id;
+    private String url;
+    private String thumbnailUrl;
+}
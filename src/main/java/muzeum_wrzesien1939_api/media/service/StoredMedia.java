@@ -0,0 +1,7 @@
+package muzeum_wrzesien1939_api.media.service;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+public record StoredMedia(String hash, Resource resource, MediaType contentType) {
+}
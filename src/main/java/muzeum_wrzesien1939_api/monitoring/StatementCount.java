@@ -0,0 +1,11 @@
+package muzeum_wrzesien1939_api.monitoring;
+
+import java.util.List;
+
+/**
+ * Statements executed inside a {@link StatementCounter} scope. A JDBC batch counts as one statement,
+ * because it is one round trip. {@code sql} is only filled when the scope was opened with capture.
+ */
+public record StatementCount(int total, int selects, int inserts, int updates, int deletes, long elapsedMillis,
+                             List<String> sql) {
+}
@@ -0,0 +1,94 @@
+package muzeum_wrzesien1939_api.monitoring;
+
+import net.ttddyy.dsproxy.QueryType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the JDBC statements a thread executes between {@link #start} and {@link Scope#close}.
+ * Scopes nest: a statement is counted in the current scope and in every enclosing one, so a test can
+ * measure one service call while the request filter measures the whole request.
+ * <pre>
+ * StatementCount count = StatementCounter.measure(() -> exhibitionService.getAllExhibitions(null, 200));
+ * </pre>
+ */
+public final class StatementCounter {
+
+    private static final int MAX_CAPTURED_SQL = 200;
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    public static Scope start(boolean captureSql) {
+        Scope scope = new Scope(CURRENT.get(), captureSql);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Runs the action in a capturing scope and returns what it executed.
+     */
+    public static StatementCount measure(Runnable action) {
+        try (Scope scope = start(true)) {
+            action.run();
+            return scope.snapshot();
+        }
+    }
+
+    static void record(QueryType type, long elapsedMillis, String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.add(type, elapsedMillis, sql);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final List<String> sql;
+
+        private int total;
+        private int selects;
+        private int inserts;
+        private int updates;
+        private int deletes;
+        private long elapsedMillis;
+
+        private Scope(Scope parent, boolean captureSql) {
+            this.parent = parent;
+            this.sql = captureSql ? new ArrayList<>() : null;
+        }
+
+        private void add(QueryType type, long elapsed, String statement) {
+            total++;
+            elapsedMillis += elapsed;
+            switch (type) {
+                case SELECT -> selects++;
+                case INSERT -> inserts++;
+                case UPDATE -> updates++;
+                case DELETE -> deletes++;
+                default -> {
+                }
+            }
+            if (sql != null && sql.size() < MAX_CAPTURED_SQL) {
+                sql.add(statement);
+            }
+        }
+
+        public StatementCount snapshot() {
+            return new StatementCount(total, selects, inserts, updates, deletes, elapsedMillis,
+                    sql == null ? List.of() : List.copyOf(sql));
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package muzeum_wrzesien1939_api.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the statements of every HTTP request and publishes them per endpoint as
+ * {@code museum.db.statements}. Requests above the warning threshold are logged, which is
+ * usually the first sign of an N+1 regression.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class StatementCountingFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public StatementCountingFilter(MeterRegistry meterRegistry,
+                                   @Value("${application.db.statements-per-request-warn}") int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        StatementCount count;
+        try (StatementCounter.Scope scope = StatementCounter.start(false)) {
+            filterChain.doFilter(request, response);
+            count = scope.snapshot();
+        }
+
+        // The matched pattern keeps the tag cardinality bounded (/api/v1/exhibits/{id}, not every id)
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("museum.db.statements")
+                .description("JDBC statements per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(count.total());
+
+        if (count.total() > warnThreshold) {
+            log.warn("{} {} executed {} statements ({} selects) in {} ms of database time",
+                    request.getMethod(), uri, count.total(), count.selects(), count.elapsedMillis());
+        }
+    }
+}
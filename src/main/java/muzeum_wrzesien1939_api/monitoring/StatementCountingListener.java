@@ -0,0 +1,57 @@
+package muzeum_wrzesien1939_api.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Feeds every executed statement into {@link StatementCounter} and logs the ones slower than the
+ * threshold together with their bind parameters. Fast statements are never formatted.
+ */
+@Slf4j
+public class StatementCountingListener implements QueryExecutionListener {
+
+    private final long slowQueryThresholdMillis;
+
+    public StatementCountingListener(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        StatementCounter.record(QueryUtils.getQueryType(sql), execInfo.getElapsedTime(), sql);
+
+        if (execInfo.getElapsedTime() >= slowQueryThresholdMillis) {
+            log.warn("Slow query ({} ms{}): {}", execInfo.getElapsedTime(),
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "", describe(queryInfoList));
+        }
+    }
+
+    private static String describe(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .map(query -> query.getQuery() + parameters(query))
+                .collect(Collectors.joining("; "));
+    }
+
+    // Only the first parameter set of a batch; the rest would flood the log
+    private static String parameters(QueryInfo query) {
+        if (query.getParametersList().isEmpty()) {
+            return "";
+        }
+        List<ParameterSetOperation> parameters = query.getParametersList().get(0);
+        return parameters.stream()
+                .map(operation -> String.valueOf(operation.getArgs().length > 1 ? operation.getArgs()[1] : null))
+                .collect(Collectors.joining(", ", " [", "]"));
+    }
+}
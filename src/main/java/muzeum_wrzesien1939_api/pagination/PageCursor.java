@@ -0,0 +1,43 @@
+package muzeum_wrzesien1939_api.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque cursor holding the sort key values of the last row of a page.
+ */
+public final class PageCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private PageCursor() {
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder sb = new StringBuilder();
+        for (Object key : keys) {
+            if (!sb.isEmpty()) {
+                sb.append('.');
+            }
+            sb.append(ENCODER.encodeToString(String.valueOf(key).getBytes(StandardCharsets.UTF_8)));
+        }
+        return sb.toString();
+    }
+
+    public static List<String> decode(String cursor, int expectedKeys) {
+        try {
+            List<String> keys = Arrays.stream(cursor.split("\\.", -1))
+                    .map(part -> new String(DECODER.decode(part), StandardCharsets.UTF_8))
+                    .toList();
+            if (keys.size() != expectedKeys) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
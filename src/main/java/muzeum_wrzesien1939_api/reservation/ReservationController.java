@@ -3,6 +3,10 @@ package muzeum_wrzesien1939_api.reservation;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import muzeum_wrzesien1939_api.export.ExportFormat;
+import muzeum_wrzesien1939_api.export.ExportResponses;
+import muzeum_wrzesien1939_api.pagination.CursorPage;
+import muzeum_wrzesien1939_api.reservation.service.DayAvailabilityResponse;
 import muzeum_wrzesien1939_api.reservation.service.ReservationRequest;
 import muzeum_wrzesien1939_api.reservation.service.ReservationResponse;
 import muzeum_wrzesien1939_api.reservation.service.ReservationService;
@@ -11,6 +15,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -31,6 +36,15 @@ public class ReservationController {
         return ResponseEntity.ok(service.getAvailableSlots(date));
     }
 
+    @Operation(summary = "Check availability calendar", description = "Returns opening status and remaining places of every slot for each day in the range (at most 62 days).")
+    @GetMapping("/availability")
+    public ResponseEntity<List<DayAvailabilityResponse>> getAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(service.getAvailability(from, to));
+    }
+
     @Operation(summary = "Make a reservation", description = "Books a visit for the logged-in user.")
     @PostMapping
     public ResponseEntity<String> makeReservation(@RequestBody ReservationRequest request) {
@@ -38,13 +52,22 @@ public class ReservationController {
         return ResponseEntity.ok("Reservation confirmed!");
     }
 
-    @Operation(summary = "Get reservations by date", description = "Returns a list of reservations for a specific day (ADMIN only).")
+    @Operation(summary = "Cancel a reservation", description = "Cancels an upcoming reservation of the logged-in user (ADMIN can cancel any) and frees its places.")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelReservation(@PathVariable Long id) {
+        service.cancelReservation(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Get reservations by date", description = "Returns a page of reservations for a specific day ordered by time (ADMIN only). Pass nextCursor as 'after' for the next page.")
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/by-date")
-    public ResponseEntity<List<ReservationResponse>> getReservationsByDate(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    public ResponseEntity<CursorPage<ReservationResponse>> getReservationsByDate(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
     ) {
-        return ResponseEntity.ok(service.getReservationsForDate(date));
+        return ResponseEntity.ok(service.getReservationsForDate(date, after, limit));
     }
 
     @Operation(summary = "Get my reservations", description = "Returns reservation history for the logged-in user.")
@@ -52,4 +75,15 @@ public class ReservationController {
     public ResponseEntity<List<ReservationResponse>> getMyReservations() {
         return ResponseEntity.ok(service.getMyReservations());
     }
+
+    @Operation(summary = "Export reservations", description = "Streams all reservations as NDJSON (default) or CSV (format=csv) without loading them into memory (ADMIN only). With spreadsheet=true the CSV is safe to open in a spreadsheet (cells starting with =, +, - or @ get a ' prefix) but no longer suitable for re-import.")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean spreadsheet
+    ) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format, spreadsheet);
+        return ExportResponses.attachment("reservations", exportFormat, out -> service.exportReservations(exportFormat, out));
+    }
 }
\ No newline at end of file
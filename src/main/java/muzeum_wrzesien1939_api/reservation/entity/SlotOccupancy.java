@@ -0,0 +1,41 @@
+package muzeum_wrzesien1939_api.reservation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Running total of booked guests for one visiting slot. The row is the lock for the slot:
+ * bookings increase {@code bookedGuests} with a conditional update that can never exceed {@code capacity}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "slot_occupancy", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_slot_occupancy_visit_date_time", columnNames = {"visitDate", "visitTime"})
+})
+public class SlotOccupancy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate visitDate;
+
+    @Column(nullable = false)
+    private LocalTime visitTime;
+
+    @Column(nullable = false)
+    private int bookedGuests;
+
+    @Column(nullable = false)
+    private int capacity;
+}
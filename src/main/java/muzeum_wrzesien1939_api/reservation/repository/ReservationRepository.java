@@ -1,16 +1,50 @@
 package muzeum_wrzesien1939_api.reservation.repository;
 
+import jakarta.persistence.QueryHint;
+import muzeum_wrzesien1939_api.export.ExportWriter;
 import muzeum_wrzesien1939_api.reservation.entity.Reservation;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
-    boolean existsByVisitDateAndVisitTime(LocalDate date, LocalTime time);
+    // Source of truth for the slot_occupancy counters, used only by the rebuild job
+
+    @Query("""
+            select new muzeum_wrzesien1939_api.reservation.repository.SlotBooking(r.visitDate, r.visitTime, sum(r.numberOfGuests))
+            from Reservation r
+            where r.visitDate >= :from
+            group by r.visitDate, r.visitTime
+            """)
+    List<SlotBooking> sumGuestsPerSlotFrom(LocalDate from);
+
+    @Query("select coalesce(sum(r.numberOfGuests), 0) from Reservation r where r.visitDate = :date and r.visitTime = :time")
+    long sumGuests(LocalDate date, LocalTime time);
 
     List<Reservation> findAllByUserId(Long userId);
 
-    List<Reservation> findAllByVisitDate(LocalDate date);
-}
\ No newline at end of file
+    // Keyset pages for a day: (visitTime, id) ascending
+
+    @EntityGraph(attributePaths = "user")
+    List<Reservation> findAllByVisitDateOrderByVisitTimeAscIdAsc(LocalDate date, Limit limit);
+
+    @Query("""
+            select r from Reservation r join fetch r.user
+            where r.visitDate = :date and (r.visitTime, r.id) > (:time, :id)
+            order by r.visitTime, r.id
+            """)
+    List<Reservation> findPageAfter(LocalDate date, LocalTime time, Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportWriter.FETCH_SIZE))
+    @Query("select r from Reservation r join fetch r.user order by r.visitDate, r.visitTime, r.id")
+    Stream<Reservation> streamAllWithUser();
+}
@@ -0,0 +1,14 @@
+package muzeum_wrzesien1939_api.reservation.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Guests booked for one slot, aggregated over the reservations table.
+ */
+public record SlotBooking(
+        LocalDate visitDate,
+        LocalTime visitTime,
+        long bookedGuests
+) {
+}
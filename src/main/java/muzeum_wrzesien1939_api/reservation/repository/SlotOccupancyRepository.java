@@ -0,0 +1,56 @@
+package muzeum_wrzesien1939_api.reservation.repository;
+
+import jakarta.persistence.LockModeType;
+import muzeum_wrzesien1939_api.reservation.entity.SlotOccupancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface SlotOccupancyRepository extends JpaRepository<SlotOccupancy, Long> {
+
+    Optional<SlotOccupancy> findByVisitDateAndVisitTime(LocalDate date, LocalTime time);
+
+    // Range scan over the (visit_date, visit_time) unique index, independent of reservation history
+    List<SlotOccupancy> findAllByVisitDateBetween(LocalDate from, LocalDate to);
+
+    List<SlotOccupancy> findAllByVisitDateGreaterThanEqual(LocalDate from);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from SlotOccupancy s where s.visitDate = :date and s.visitTime = :time")
+    Optional<SlotOccupancy> lockSlot(LocalDate date, LocalTime time);
+
+    // Creates the counter on first booking; guests booked before counters existed are counted in
+    @Modifying
+    @Query(value = """
+            INSERT INTO slot_occupancy (visit_date, visit_time, booked_guests, capacity)
+            VALUES (:date, :time,
+                    (SELECT COALESCE(SUM(r.number_of_guests), 0) FROM reservations r
+                     WHERE r.visit_date = :date AND r.visit_time = :time),
+                    :capacity)
+            ON CONFLICT (visit_date, visit_time) DO NOTHING
+            """, nativeQuery = true)
+    void createIfAbsent(LocalDate date, LocalTime time, int capacity);
+
+    // Atomic check-and-increment: updates nothing when the guests would not fit
+    @Modifying
+    @Query(value = """
+            UPDATE slot_occupancy
+            SET booked_guests = booked_guests + :guests
+            WHERE visit_date = :date AND visit_time = :time AND booked_guests + :guests <= capacity
+            """, nativeQuery = true)
+    int tryBook(LocalDate date, LocalTime time, int guests);
+
+    @Modifying
+    @Query(value = """
+            UPDATE slot_occupancy
+            SET booked_guests = GREATEST(booked_guests - :guests, 0)
+            WHERE visit_date = :date AND visit_time = :time
+            """, nativeQuery = true)
+    int release(LocalDate date, LocalTime time, int guests);
+}
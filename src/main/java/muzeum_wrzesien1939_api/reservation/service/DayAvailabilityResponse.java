@@ -0,0 +1,15 @@
+package muzeum_wrzesien1939_api.reservation.service;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+public class DayAvailabilityResponse {
+    private LocalDate date;
+    private boolean isOpen;
+    private List<TimeSlotResponse> slots;
+}
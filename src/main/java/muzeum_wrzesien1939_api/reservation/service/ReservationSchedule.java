@@ -0,0 +1,70 @@
+package muzeum_wrzesien1939_api.reservation.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Visiting hours bound from {@code application.reservations.*}.
+ * Every day uses first-slot/last-slot unless overridden in {@code hours.<weekday>};
+ * closed-days and closed-dates (holidays) have no slots at all.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.reservations")
+public class ReservationSchedule {
+
+    private int slotCapacity = 30;
+
+    private Duration slotLength = Duration.ofHours(1);
+
+    private LocalTime firstSlot = LocalTime.of(10, 0);
+
+    private LocalTime lastSlot = LocalTime.of(15, 0);
+
+    private Map<DayOfWeek, Hours> hours = new EnumMap<>(DayOfWeek.class);
+
+    private Set<DayOfWeek> closedDays = EnumSet.noneOf(DayOfWeek.class);
+
+    private Set<LocalDate> closedDates = new HashSet<>();
+
+    public boolean isOpen(LocalDate date) {
+        return !closedDays.contains(date.getDayOfWeek()) && !closedDates.contains(date);
+    }
+
+    public List<LocalTime> slotsOn(LocalDate date) {
+        List<LocalTime> slots = new ArrayList<>();
+        if (!isOpen(date)) {
+            return slots;
+        }
+
+        Hours override = hours.get(date.getDayOfWeek());
+        LocalTime first = override != null && override.getFirstSlot() != null ? override.getFirstSlot() : firstSlot;
+        LocalTime last = override != null && override.getLastSlot() != null ? override.getLastSlot() : lastSlot;
+
+        // Stops before wrapping past midnight
+        for (LocalTime time = first; !time.isAfter(last); time = time.plus(slotLength)) {
+            slots.add(time);
+            if (time.plus(slotLength).isBefore(time)) {
+                break;
+            }
+        }
+        return slots;
+    }
+
+    @Data
+    public static class Hours {
+        private LocalTime firstSlot;
+        private LocalTime lastSlot;
+    }
+}
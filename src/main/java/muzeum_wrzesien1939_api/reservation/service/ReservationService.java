@@ -1,50 +1,111 @@
 package muzeum_wrzesien1939_api.reservation.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import muzeum_wrzesien1939_api.exception.ConflictException;
+import muzeum_wrzesien1939_api.export.ExportColumn;
+import muzeum_wrzesien1939_api.export.ExportFormat;
+import muzeum_wrzesien1939_api.export.ExportWriter;
+import muzeum_wrzesien1939_api.pagination.CursorPage;
+import muzeum_wrzesien1939_api.pagination.PageCursor;
 import muzeum_wrzesien1939_api.reservation.entity.Reservation;
+import muzeum_wrzesien1939_api.reservation.entity.SlotOccupancy;
 import muzeum_wrzesien1939_api.reservation.repository.ReservationRepository;
+import muzeum_wrzesien1939_api.user.entity.Role;
 import muzeum_wrzesien1939_api.user.entity.User;
 import muzeum_wrzesien1939_api.user.repository.UserRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ReservationService {
 
     private final ReservationRepository reservationRepository;
+    private final SlotOccupancyService slotOccupancyService;
     private final UserRepository userRepository;
 
-    //TODO possibly make them adjustable for admin
-    private final LocalTime OPENING_TIME = LocalTime.of(10, 0);
-    private final LocalTime CLOSING_TIME = LocalTime.of(15, 0);
+    private final ReservationSchedule schedule;
+    private final MeterRegistry meterRegistry;
+    private final ExportWriter exportWriter;
+
+    private static final int MAX_AVAILABILITY_DAYS = 62;
+
+    private static final List<ExportColumn<Reservation>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", Reservation::getId),
+            ExportColumn.of("visitDate", Reservation::getVisitDate),
+            ExportColumn.of("visitTime", Reservation::getVisitTime),
+            ExportColumn.of("numberOfGuests", Reservation::getNumberOfGuests),
+            ExportColumn.of("userEmail", r -> r.getUser().getEmail()));
 
     public List<TimeSlotResponse> getAvailableSlots(LocalDate date) {
-        List<TimeSlotResponse> slots = new ArrayList<>();
-        LocalTime currentTime = OPENING_TIME;
+        return getAvailability(date, date).get(0).getSlots();
+    }
 
-        while (!currentTime.isAfter(CLOSING_TIME)) {
-            boolean isTaken = reservationRepository.existsByVisitDateAndVisitTime(date, currentTime);
+    public List<DayAvailabilityResponse> getAvailability(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new RuntimeException("Invalid date range");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_AVAILABILITY_DAYS) {
+            throw new RuntimeException("Date range cannot exceed " + MAX_AVAILABILITY_DAYS + " days");
+        }
 
-            slots.add(TimeSlotResponse.builder()
-                    .time(currentTime)
-                    .isAvailable(!isTaken)
+        // Point lookups on the counters, the reservations table is not scanned
+        Map<LocalDate, Map<LocalTime, SlotOccupancy>> occupancy = slotOccupancyService.getOccupancy(from, to);
+
+        LocalDate today = LocalDate.now();
+        List<DayAvailabilityResponse> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Map<LocalTime, SlotOccupancy> occupancyOnDay = occupancy.getOrDefault(date, Map.of());
+            boolean bookable = !date.isBefore(today);
+
+            List<TimeSlotResponse> slots = new ArrayList<>();
+            for (LocalTime time : schedule.slotsOn(date)) {
+                SlotOccupancy slot = occupancyOnDay.get(time);
+                int remaining = slot != null
+                        ? Math.max(0, slot.getCapacity() - slot.getBookedGuests())
+                        : schedule.getSlotCapacity();
+                slots.add(TimeSlotResponse.builder()
+                        .time(time)
+                        .isAvailable(bookable && remaining > 0)
+                        .remainingCapacity(remaining)
+                        .build());
+            }
+
+            days.add(DayAvailabilityResponse.builder()
+                    .date(date)
+                    .isOpen(schedule.isOpen(date))
+                    .slots(slots)
                     .build());
-
-            currentTime = currentTime.plusHours(1);
         }
-        return slots;
+        return days;
     }
 
+    @Timed(value = "museum.reservations.book", description = "Booking including the slot counter update")
+    @Transactional
     public void makeReservation(ReservationRequest request) {
-        if (reservationRepository.existsByVisitDateAndVisitTime(request.getDate(), request.getTime())) {
-            throw new RuntimeException("This time slot is already booked!");
+        validateSlot(request);
+
+        try {
+            slotOccupancyService.book(request.getDate(), request.getTime(), request.getNumberOfGuests());
+        } catch (ConflictException e) {
+            countBooking("conflict");
+            throw e;
         }
 
         String email = ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getUsername();
@@ -59,13 +120,44 @@ public class ReservationService {
                 .build();
 
         reservationRepository.save(reservation);
+        countBooking("success");
     }
 
-    public List<ReservationResponse> getReservationsForDate(LocalDate date) {
-        return reservationRepository.findAllByVisitDate(date)
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+    @Timed(value = "museum.reservations.cancel", description = "Cancellation including the slot counter update")
+    @Transactional
+    public void cancelReservation(Long id) {
+        Reservation reservation = reservationRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Reservation not found"));
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = ((UserDetails) authentication.getPrincipal()).getUsername();
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> Role.ROLE_ADMIN.name().equals(authority.getAuthority()));
+
+        if (!isAdmin && !reservation.getUser().getEmail().equals(email)) {
+            throw new RuntimeException("You can only cancel your own reservations");
+        }
+        if (reservation.getVisitDate().isBefore(LocalDate.now())) {
+            throw new RuntimeException("Cannot cancel a past visit");
+        }
+
+        slotOccupancyService.release(reservation.getVisitDate(), reservation.getVisitTime(), reservation.getNumberOfGuests());
+        reservationRepository.delete(reservation);
+    }
+
+    public CursorPage<ReservationResponse> getReservationsForDate(LocalDate date, String after, Integer limit) {
+        int pageSize = CursorPage.limit(limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<Reservation> reservations;
+        if (after == null) {
+            reservations = reservationRepository.findAllByVisitDateOrderByVisitTimeAscIdAsc(date, fetchLimit);
+        } else {
+            List<String> keys = PageCursor.decode(after, 2);
+            reservations = reservationRepository.findPageAfter(date, LocalTime.parse(keys.get(0)), Long.valueOf(keys.get(1)), fetchLimit);
+        }
+
+        return CursorPage.of(reservations, pageSize, r -> PageCursor.encode(r.getVisitTime(), r.getId()), this::mapToResponse);
     }
 
     public List<ReservationResponse> getMyReservations() {
@@ -78,6 +170,36 @@ public class ReservationService {
                 .toList();
     }
 
+    @Timed(value = "museum.reservations.export", description = "Streaming reservation history export")
+    public long exportReservations(ExportFormat format, OutputStream out) {
+        try (Stream<Reservation> reservations = reservationRepository.streamAllWithUser()) {
+            return exportWriter.write(reservations, format, EXPORT_COLUMNS, out);
+        }
+    }
+
+    private void validateSlot(ReservationRequest request) {
+        if (request.getDate() == null || request.getTime() == null) {
+            throw new RuntimeException("Date and time are required");
+        }
+        if (request.getDate().isBefore(LocalDate.now())) {
+            throw new RuntimeException("Cannot book a visit in the past");
+        }
+        if (!schedule.isOpen(request.getDate())) {
+            throw new RuntimeException("The museum is closed on this day");
+        }
+        if (!schedule.slotsOn(request.getDate()).contains(request.getTime())) {
+            throw new RuntimeException("Invalid time slot");
+        }
+        if (request.getNumberOfGuests() < 1 || request.getNumberOfGuests() > schedule.getSlotCapacity()) {
+            throw new RuntimeException("Number of guests must be between 1 and " + schedule.getSlotCapacity());
+        }
+    }
+
+    // Full slots show up as conflicts, so the rate of rejected bookings is visible next to the latency
+    private void countBooking(String outcome) {
+        meterRegistry.counter("museum.reservations.bookings", "outcome", outcome).increment();
+    }
+
     private ReservationResponse mapToResponse(Reservation reservation) {
         return ReservationResponse.builder()
                 .id(reservation.getId())
@@ -0,0 +1,37 @@
+package muzeum_wrzesien1939_api.reservation.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import muzeum_wrzesien1939_api.reservation.repository.SlotBooking;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Recomputes slot_occupancy counters from reservations on startup and on a schedule.
+ * Only today and future slots are checked, past ones can no longer be booked.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlotOccupancyRebuildJob {
+
+    private final SlotOccupancyService slotOccupancyService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.reservations.rebuild-cron}")
+    public void rebuild() {
+        int repaired = 0;
+        for (SlotBooking slot : slotOccupancyService.findDriftedSlots(LocalDate.now())) {
+            if (slotOccupancyService.repairSlot(slot.visitDate(), slot.visitTime())) {
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            log.warn("Repaired {} slot occupancy counter(s) that did not match reservations", repaired);
+        }
+    }
+}
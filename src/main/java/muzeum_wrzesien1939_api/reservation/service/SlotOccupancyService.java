@@ -0,0 +1,95 @@
+package muzeum_wrzesien1939_api.reservation.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import muzeum_wrzesien1939_api.exception.ConflictException;
+import muzeum_wrzesien1939_api.reservation.entity.SlotOccupancy;
+import muzeum_wrzesien1939_api.reservation.repository.ReservationRepository;
+import muzeum_wrzesien1939_api.reservation.repository.SlotBooking;
+import muzeum_wrzesien1939_api.reservation.repository.SlotOccupancyRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maintains the slot_occupancy counters. Booking and cancellation change them in the caller's
+ * transaction; {@link #findDriftedSlots(LocalDate)} and {@link #repairSlot(LocalDate, LocalTime)} reconcile them with reservations.
+ */
+@Service
+@RequiredArgsConstructor
+public class SlotOccupancyService {
+
+    private final SlotOccupancyRepository slotOccupancyRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationSchedule schedule;
+
+    @Timed(value = "museum.reservations.occupancy", description = "Slot counter lookup for a date range")
+    public Map<LocalDate, Map<LocalTime, SlotOccupancy>> getOccupancy(LocalDate from, LocalDate to) {
+        Map<LocalDate, Map<LocalTime, SlotOccupancy>> occupancy = new HashMap<>();
+        for (SlotOccupancy slot : slotOccupancyRepository.findAllByVisitDateBetween(from, to)) {
+            occupancy.computeIfAbsent(slot.getVisitDate(), d -> new HashMap<>()).put(slot.getVisitTime(), slot);
+        }
+        return occupancy;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void book(LocalDate date, LocalTime time, int guests) {
+        // Counter row first: the conditional update serialises concurrent bookings of the slot
+        slotOccupancyRepository.createIfAbsent(date, time, schedule.getSlotCapacity());
+        if (slotOccupancyRepository.tryBook(date, time, guests) == 0) {
+            throw new ConflictException("Not enough places left in this time slot!");
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(LocalDate date, LocalTime time, int guests) {
+        slotOccupancyRepository.release(date, time, guests);
+    }
+
+    /**
+     * Compares every counter from {@code from} on with the reservations table and returns the slots
+     * whose counter drifted or is missing, together with the guest count found in reservations.
+     */
+    public List<SlotBooking> findDriftedSlots(LocalDate from) {
+        Map<LocalDate, Map<LocalTime, Long>> actual = new HashMap<>();
+        for (SlotBooking booking : reservationRepository.sumGuestsPerSlotFrom(from)) {
+            actual.computeIfAbsent(booking.visitDate(), d -> new HashMap<>()).put(booking.visitTime(), booking.bookedGuests());
+        }
+
+        List<SlotBooking> drifted = new ArrayList<>();
+        for (SlotOccupancy slot : slotOccupancyRepository.findAllByVisitDateGreaterThanEqual(from)) {
+            Map<LocalTime, Long> bookedOnDay = actual.get(slot.getVisitDate());
+            long booked = bookedOnDay != null ? Objects.requireNonNullElse(bookedOnDay.remove(slot.getVisitTime()), 0L) : 0L;
+            if (slot.getBookedGuests() != booked || slot.getCapacity() != schedule.getSlotCapacity()) {
+                drifted.add(new SlotBooking(slot.getVisitDate(), slot.getVisitTime(), booked));
+            }
+        }
+        // Reservations without any counter row
+        actual.forEach((date, bookedOnDay) -> bookedOnDay.forEach((time, booked) ->
+                drifted.add(new SlotBooking(date, time, booked))));
+        return drifted;
+    }
+
+    // The drift snapshot may be stale; recount under the row lock so concurrent bookings are not lost
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean repairSlot(LocalDate date, LocalTime time) {
+        slotOccupancyRepository.createIfAbsent(date, time, schedule.getSlotCapacity());
+        SlotOccupancy slot = slotOccupancyRepository.lockSlot(date, time).orElseThrow();
+
+        int booked = (int) reservationRepository.sumGuests(date, time);
+        if (slot.getBookedGuests() == booked && slot.getCapacity() == schedule.getSlotCapacity()) {
+            return false;
+        }
+        slot.setBookedGuests(booked);
+        slot.setCapacity(schedule.getSlotCapacity());
+        return true;
+    }
+}
@@ -9,4 +9,5 @@ import java.time.LocalTime;
 public class TimeSlotResponse {
     private LocalTime time;
     private boolean isAvailable;
+    private int remainingCapacity;
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package muzeum_wrzesien1939_api.versioning;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * ETag / Last-Modified handling for catalog endpoints.
+ */
+public final class ConditionalRequests {
+
+    // Single items may be served stale for a moment; lists are always revalidated (a 304 is cheap)
+    public static final CacheControl ITEM_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+    public static final CacheControl LIST_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    private ConditionalRequests() {
+    }
+
+    public static String etag(String resource, VersionStamp... stamps) {
+        StringBuilder tag = new StringBuilder("\"").append(resource);
+        for (VersionStamp stamp : stamps) {
+            tag.append('-').append(stamp.getVersion() == null ? 0 : stamp.getVersion());
+            if (stamp.getLastModified() != null) {
+                tag.append('-').append(Long.toString(stamp.getLastModified().toEpochMilli(), 36));
+            }
+        }
+        return tag.append('"').toString();
+    }
+
+    public static String etag(String resource, List<VersionStamp> stamps) {
+        return etag(resource, stamps.toArray(VersionStamp[]::new));
+    }
+
+    public static Instant lastModified(List<VersionStamp> stamps) {
+        return lastModified(stamps.toArray(VersionStamp[]::new));
+    }
+
+    public static Instant lastModified(VersionStamp... stamps) {
+        Instant latest = null;
+        for (VersionStamp stamp : stamps) {
+            Instant candidate = stamp.getLastModified();
+            if (candidate != null && (latest == null || candidate.isAfter(latest))) {
+                latest = candidate;
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Evaluates If-None-Match / If-Modified-Since against the current stamps; when it returns true the
+     * 304 response is already prepared and the controller should return null without building the body.
+     * Otherwise the response is left untouched and the controller answers with {@link #ok}.
+     */
+    public static boolean notModified(ServletWebRequest request, String etag, Instant lastModified, CacheControl cacheControl) {
+        // Probed without the response first: checkNotModified also sets the validators on a 200,
+        // and those of a 200 come from the payload served, which may be older than the current stamps
+        if (!checkNotModified(new ServletWebRequest(request.getRequest()), etag, lastModified)) {
+            return false;
+        }
+        checkNotModified(request, etag, lastModified);
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        }
+        return true;
+    }
+
+    /**
+     * A 200 whose ETag and Last-Modified are computed from the stamps the payload was read with.
+     */
+    public static <T> ResponseEntity<T> ok(String resource, Versioned<T> payload, CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(etag(resource, payload.stamps()));
+        Instant lastModified = lastModified(payload.stamps());
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+        return response.body(payload.body());
+    }
+
+    private static boolean checkNotModified(ServletWebRequest request, String etag, Instant lastModified) {
+        return lastModified != null
+                ? request.checkNotModified(etag, lastModified.toEpochMilli())
+                : request.checkNotModified(etag);
+    }
+}
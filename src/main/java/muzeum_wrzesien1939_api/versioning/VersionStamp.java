@@ -0,0 +1,13 @@
+package muzeum_wrzesien1939_api.versioning;
+
+import java.time.Instant;
+
+/**
+ * Cheap fingerprint of a resource (or collection) read without loading the rows themselves.
+ */
+public interface VersionStamp {
+
+    Long getVersion();
+
+    Instant getLastModified();
+}
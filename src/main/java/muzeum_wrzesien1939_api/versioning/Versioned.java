@@ -0,0 +1,18 @@
+package muzeum_wrzesien1939_api.versioning;
+
+import java.util.List;
+
+/**
+ * A catalog payload together with the stamps read just before it, in the same transaction. It is
+ * cached as a whole, so the ETag and Last-Modified sent with a body always describe that body.
+ */
+public record Versioned<T>(T body, List<VersionStamp> stamps) {
+
+    public static <T> Versioned<T> of(T body, List<VersionStamp> stamps) {
+        return new Versioned<>(body, List.copyOf(stamps));
+    }
+
+    public static <T> Versioned<T> of(T body, VersionStamp stamp) {
+        return new Versioned<>(body, List.of(stamp));
+    }
+}
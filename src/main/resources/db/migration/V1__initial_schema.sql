@@ -0,0 +1,54 @@
+-- Schema of the last release managed by ddl-auto=update, as Hibernate created it from that
+-- release's entities (including the CHECK constraints it generates for enum columns). Databases
+-- created by that release are baselined at version 1 (spring.flyway.baseline-on-migrate), so this
+-- script only runs on empty databases; every later change belongs in V2 and up.
+
+CREATE TABLE users (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      varchar(255) NOT NULL,
+    password   varchar(255) NOT NULL,
+    first_name varchar(255),
+    last_name  varchar(255),
+    role       varchar(255) CHECK (role IN ('ROLE_USER', 'ROLE_ADMIN')),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE exhibits (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name            varchar(255)  NOT NULL,
+    description     varchar(2000),
+    production_year varchar(255),
+    image_url       text,
+    category        varchar(255)  NOT NULL
+        CHECK (category IN ('UNIFORMS', 'EQUIPMENT', 'WEAPONRY', 'DOCUMENTS', 'PHOTOS', 'EVERYDAY_OBJECTS', 'OTHER'))
+);
+
+CREATE TABLE exhibitions (
+    id                   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name                 varchar(255) NOT NULL,
+    description          varchar(2000),
+    background_image_url text
+);
+
+CREATE TABLE exhibition_exhibits (
+    exhibition_id bigint NOT NULL REFERENCES exhibitions (id),
+    exhibit_id    bigint NOT NULL REFERENCES exhibits (id)
+);
+
+CREATE TABLE reservations (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    visit_date       date    NOT NULL,
+    visit_time       time(6) NOT NULL,
+    number_of_guests integer NOT NULL,
+    user_id          bigint  NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE donations (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    item_name   varchar(255) NOT NULL,
+    description varchar(2000),
+    image_url   text,
+    status      varchar(255) NOT NULL CHECK (status IN ('PENDING', 'ACCEPTED', 'REJECTED')),
+    user_id     bigint       NOT NULL REFERENCES users (id),
+    created_at  timestamp(6)
+);
@@ -0,0 +1,18 @@
+-- Images move from base64 data URLs in text columns to the content-addressed media store
+-- (MediaStorageService); rows keep the SHA-256 of the original. media_variants maps an original
+-- to its resized variants (ImageVariantService). The image_url columns are dropped by V10
+-- (ImageUrlMigration) once their images are in the store.
+
+ALTER TABLE exhibits ADD COLUMN image_hash varchar(64);
+ALTER TABLE exhibitions ADD COLUMN background_image_hash varchar(64);
+ALTER TABLE donations ADD COLUMN image_hash varchar(64);
+
+CREATE TABLE media_variants (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    original_hash varchar(64) NOT NULL,
+    variant       varchar(16) NOT NULL,
+    variant_hash  varchar(64) NOT NULL,
+    width         integer     NOT NULL,
+    height        integer     NOT NULL,
+    CONSTRAINT uk_media_variants_original_variant UNIQUE (original_hash, variant)
+);
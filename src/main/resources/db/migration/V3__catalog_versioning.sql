@@ -0,0 +1,10 @@
+-- Optimistic versioning of the catalog; version and updated_at drive ETag / Last-Modified.
+-- Existing rows start at version 0, last modified now.
+
+ALTER TABLE exhibits ADD COLUMN version bigint;
+ALTER TABLE exhibits ADD COLUMN updated_at timestamp(6) with time zone;
+UPDATE exhibits SET version = 0, updated_at = now();
+
+ALTER TABLE exhibitions ADD COLUMN version bigint;
+ALTER TABLE exhibitions ADD COLUMN updated_at timestamp(6) with time zone;
+UPDATE exhibitions SET version = 0, updated_at = now();
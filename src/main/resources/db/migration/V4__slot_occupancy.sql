@@ -0,0 +1,12 @@
+-- Running total of booked guests per visiting slot (SlotOccupancy). Rows are created on the first
+-- booking of a slot and count in the reservations made before (SlotOccupancyRepository.createIfAbsent),
+-- so existing reservations need no backfill.
+
+CREATE TABLE slot_occupancy (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    visit_date    date    NOT NULL,
+    visit_time    time(6) NOT NULL,
+    booked_guests integer NOT NULL,
+    capacity      integer NOT NULL,
+    CONSTRAINT uk_slot_occupancy_visit_date_time UNIQUE (visit_date, visit_time)
+);
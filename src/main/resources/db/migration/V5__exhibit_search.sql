@@ -0,0 +1,19 @@
+-- Full-text search over exhibit names and descriptions.
+-- PostgreSQL has no Polish stemmer, so the 'simple' configuration is used together with
+-- unaccent (diacritics are ignored) and prefix queries built by ExhibitService.
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE; pinning the dictionary makes it usable in a generated column
+CREATE OR REPLACE FUNCTION museum_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS 'SELECT public.unaccent(''public.unaccent''::regdictionary, $1)';
+
+-- Maintained by PostgreSQL on every insert/update; not mapped in the Exhibit entity
+ALTER TABLE exhibits ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', museum_unaccent(coalesce(name, ''))), 'A') ||
+        setweight(to_tsvector('simple', museum_unaccent(coalesce(description, ''))), 'B')
+    ) STORED;
+
+CREATE INDEX idx_exhibits_search_vector ON exhibits USING gin (search_vector);
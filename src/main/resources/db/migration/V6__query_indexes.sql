@@ -0,0 +1,29 @@
+-- One index per repository access path.
+-- Covered without an extra index:
+--   users(email)                          -> unique constraint on email (findByEmail, login)
+--   slot_occupancy(visit_date, visit_time) -> uk_slot_occupancy_visit_date_time (booking, availability ranges)
+--   media_variants(original_hash)         -> uk_media_variants_original_variant
+
+-- ExhibitService: keyset pages ordered by (name, id), category / year filters
+CREATE INDEX idx_exhibits_name_id ON exhibits (name, id);
+CREATE INDEX idx_exhibits_category ON exhibits (category);
+CREATE INDEX idx_exhibits_production_year ON exhibits (production_year);
+
+-- Substring name search: lower(name) LIKE '%...%'
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_exhibits_name_trgm ON exhibits USING gin (lower(name) gin_trgm_ops);
+
+-- ExhibitionRepository.findItemSummaries (exhibition_id IN ...) and exhibit deletion (exhibit_id = ?)
+CREATE INDEX idx_exhibition_exhibits_exhibition_exhibit ON exhibition_exhibits (exhibition_id, exhibit_id);
+CREATE INDEX idx_exhibition_exhibits_exhibit ON exhibition_exhibits (exhibit_id);
+
+-- ReservationRepository: day pages by (visit_time, id), slot sums by (visit_date, visit_time)
+CREATE INDEX idx_reservations_visit_date_time_id ON reservations (visit_date, visit_time, id);
+-- findAllByUserId (my reservations)
+CREATE INDEX idx_reservations_user_id ON reservations (user_id);
+
+-- DonationRepository: newest-first keyset pages, optionally filtered by status
+CREATE INDEX idx_donations_created_at_id ON donations (created_at, id);
+CREATE INDEX idx_donations_status_created_at_id ON donations (status, created_at, id);
+-- findAllByDonor_Id (my donations)
+CREATE INDEX idx_donations_user_id ON donations (user_id);
@@ -0,0 +1,11 @@
+-- Exhibit ids come from a sequence handed out in blocks of 50 (Exhibit, allocationSize = 50), so
+-- Hibernate can assign ids without a round trip per row and batch the inserts of a bulk import.
+-- Hibernate's pooled optimizer treats each nextval as the top of its block, hence the first value
+-- is set 50 above the current maximum. Plain SQL inserts keep working through the column default.
+
+ALTER TABLE exhibits ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE exhibits_seq INCREMENT BY 50 OWNED BY exhibits.id;
+SELECT setval('exhibits_seq', COALESCE((SELECT max(id) FROM exhibits), 0) + 50, false);
+
+ALTER TABLE exhibits ALTER COLUMN id SET DEFAULT nextval('exhibits_seq');
@@ -0,0 +1,23 @@
+-- Review pipeline of donations (DonationJobWorker): one row per step, claimed with
+-- FOR UPDATE SKIP LOCKED. For RUNNING rows run_at is the end of the worker's lease; a job whose
+-- worker died becomes claimable again once it passes.
+
+CREATE TABLE donation_jobs (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    donation_id bigint        NOT NULL REFERENCES donations (id) ON DELETE CASCADE,
+    type        varchar(32)   NOT NULL,
+    status      varchar(16)   NOT NULL,
+    attempts    integer       NOT NULL,
+    run_at      timestamp(6) with time zone NOT NULL,
+    last_error  varchar(2000),
+    created_at  timestamp(6) with time zone
+);
+
+-- Claim query: due jobs in run_at order; finished jobs drop out of the index
+CREATE INDEX idx_donation_jobs_due ON donation_jobs (run_at, id) WHERE status IN ('QUEUED', 'RUNNING');
+CREATE INDEX idx_donation_jobs_donation_id ON donation_jobs (donation_id);
+
+-- Results of the pipeline and of promoting an accepted donation
+ALTER TABLE donations ADD COLUMN possible_duplicate_exhibit_id bigint REFERENCES exhibits (id) ON DELETE SET NULL;
+ALTER TABLE donations ADD COLUMN exhibit_id bigint REFERENCES exhibits (id) ON DELETE SET NULL;
+ALTER TABLE donations ADD COLUMN processed_at timestamp(6);
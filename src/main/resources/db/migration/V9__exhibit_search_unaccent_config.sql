@@ -0,0 +1,21 @@
+-- Text search configuration that removes diacritics while parsing (unaccent, then simple).
+-- Indexing, queries and ts_headline all use it, so "żołnierz" is both found and highlighted;
+-- with museum_unaccent() applied to the text up front, ts_headline saw the raw description and
+-- never matched the unaccented query terms.
+
+CREATE TEXT SEARCH CONFIGURATION museum_search (COPY = simple);
+
+ALTER TEXT SEARCH CONFIGURATION museum_search
+    ALTER MAPPING FOR asciiword, asciihword, hword_asciipart, word, hword, hword_part
+    WITH unaccent, simple;
+
+DROP INDEX IF EXISTS idx_exhibits_search_vector;
+ALTER TABLE exhibits DROP COLUMN IF EXISTS search_vector;
+
+ALTER TABLE exhibits ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('museum_search', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('museum_search', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_exhibits_search_vector ON exhibits USING gin (search_vector);
@@ -0,0 +1,159 @@
+package muzeum_wrzesien1939_api;
+
+import muzeum_wrzesien1939_api.media.service.ImageUrlMigration;
+import muzeum_wrzesien1939_api.media.service.MediaStorageService;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Upgrades a database as the last ddl-auto=update release left it (baselined at version 1) and
+ * compares it with one built by the migrations from scratch, the schema Hibernate validates;
+ * the release's base64 images have to end up in the media store.
+ * Both are scratch databases next to the test database, dropped afterwards.
+ */
+@SpringBootTest
+class SchemaUpgradeTest {
+
+    private static final String COLUMNS = """
+            SELECT table_name, column_name, data_type, character_maximum_length, is_nullable, column_default,
+                   is_identity, is_generated
+            FROM information_schema.columns
+            WHERE table_schema = 'public' AND table_name <> 'flyway_schema_history'
+            ORDER BY table_name, column_name
+            """;
+    private static final String INDEXES = """
+            SELECT tablename, indexname, indexdef FROM pg_indexes
+            WHERE schemaname = 'public' AND indexname LIKE 'idx\\_%'
+            ORDER BY indexname
+            """;
+    // The image every row of db/ddl-auto-release.sql carries as a data URL
+    private static final String PNG = "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==";
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Autowired
+    private ImageUrlMigration imageUrlMigration;
+
+    @Autowired
+    private MediaStorageService mediaStorageService;
+
+    // Plain auto-commit connections: CREATE DATABASE cannot run inside a transaction
+    private JdbcTemplate admin;
+    private String fresh;
+    private String upgraded;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        fresh = "museum_fresh_" + suffix;
+        upgraded = "museum_upgraded_" + suffix;
+        admin = new JdbcTemplate(new DriverManagerDataSource(url, username, password));
+        admin.execute("CREATE DATABASE " + fresh);
+        admin.execute("CREATE DATABASE " + upgraded);
+    }
+
+    @AfterEach
+    void tearDown() {
+        admin.execute("DROP DATABASE IF EXISTS " + fresh + " WITH (FORCE)");
+        admin.execute("DROP DATABASE IF EXISTS " + upgraded + " WITH (FORCE)");
+    }
+
+    @Test
+    void databaseOfTheLastDdlAutoReleaseUpgradesToTheMigratedSchema() {
+        DataSource freshDb = dataSource(fresh);
+        migrate(freshDb);
+
+        DataSource upgradedDb = release(upgraded);
+        migrate(upgradedDb);
+
+        JdbcTemplate freshJdbc = new JdbcTemplate(freshDb);
+        JdbcTemplate upgradedJdbc = new JdbcTemplate(upgradedDb);
+        assertThat(upgradedJdbc.queryForObject(
+                "SELECT type FROM flyway_schema_history WHERE version = '1'", String.class)).isEqualTo("BASELINE");
+        assertThat(upgradedJdbc.queryForList(COLUMNS)).isEqualTo(freshJdbc.queryForList(COLUMNS));
+        assertThat(upgradedJdbc.queryForList(INDEXES)).isEqualTo(freshJdbc.queryForList(INDEXES));
+
+        assertThat(upgradedJdbc.queryForMap("SELECT version, updated_at FROM exhibits WHERE id = 1"))
+                .containsEntry("version", 0L)
+                .doesNotContainEntry("updated_at", null);
+        assertThat(upgradedJdbc.queryForObject("SELECT count(*) FROM exhibits WHERE search_vector @@ to_tsquery('museum_search', 'bagnet')",
+                Long.class)).isEqualTo(1L);
+        // New exhibits get ids from the sequence above the ones the release handed out
+        assertThat(upgradedJdbc.queryForObject(
+                "INSERT INTO exhibits (name, category) VALUES ('Hełm wz. 31', 'UNIFORMS') RETURNING id", Long.class))
+                .isGreaterThan(2L);
+    }
+
+    @Test
+    void imagesOfTheReleaseMoveToTheMediaStore() {
+        JdbcTemplate upgradedJdbc = new JdbcTemplate(release(upgraded));
+        migrate(upgradedJdbc.getDataSource());
+
+        String hash = mediaStorageService.store(Base64.getDecoder().decode(PNG));
+        assertThat(upgradedJdbc.queryForList("SELECT image_hash FROM exhibits ORDER BY id", String.class))
+                .containsExactly(hash, null);
+        assertThat(upgradedJdbc.queryForObject("SELECT background_image_hash FROM exhibitions", String.class)).isEqualTo(hash);
+        assertThat(upgradedJdbc.queryForObject("SELECT image_hash FROM donations", String.class)).isEqualTo(hash);
+        assertThat(mediaStorageService.load(hash)).isPresent();
+    }
+
+    @Test
+    void imageThatCannotBeStoredStopsTheMigrationWithoutDroppingIt() {
+        JdbcTemplate upgradedJdbc = new JdbcTemplate(release(upgraded));
+        upgradedJdbc.update("UPDATE donations SET image_url = 'https://example.com/menazka.jpg'");
+
+        assertThatThrownBy(() -> migrate(upgradedJdbc.getDataSource()))
+                .isInstanceOf(FlywayException.class)
+                .rootCause().hasMessageStartingWith("Image of donations row 1 is not a data URL");
+        assertThat(upgradedJdbc.queryForObject("SELECT image_url FROM donations", String.class))
+                .isEqualTo("https://example.com/menazka.jpg");
+        assertThat(upgradedJdbc.queryForObject("SELECT count(*) FROM exhibits WHERE image_url IS NOT NULL", Long.class))
+                .isEqualTo(2L);
+    }
+
+    private void migrate(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .javaMigrations(imageUrlMigration)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private DataSource release(String database) {
+        DataSource dataSource = dataSource(database);
+        new ResourceDatabasePopulator(new ClassPathResource("db/ddl-auto-release.sql")).execute(dataSource);
+        return dataSource;
+    }
+
+    private DataSource dataSource(String database) {
+        return new DriverManagerDataSource(url.replaceFirst("^(jdbc:postgresql://[^/]+/)[^?]*", "$1" + database),
+                username, password);
+    }
+}
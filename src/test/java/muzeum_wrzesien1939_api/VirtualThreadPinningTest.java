@@ -0,0 +1,91 @@
+package muzeum_wrzesien1939_api;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import muzeum_wrzesien1939_api.auth.service.JwtService;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitService;
+import muzeum_wrzesien1939_api.reservation.service.ReservationService;
+import muzeum_wrzesien1939_api.user.entity.Role;
+import muzeum_wrzesien1939_api.user.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the JWT and JPA request paths on many more virtual threads than there are pooled connections
+ * and fails if JFR reports a virtual thread blocking while pinned to its carrier.
+ */
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadPinningTest {
+
+    private static final int TASKS = 200;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ExhibitService exhibitService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Test
+    void jwtAndJpaPathsDoNotPinCarrierThreads() throws Exception {
+        LocalDate today = LocalDate.now();
+
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withStackTrace().withoutThreshold();
+            recording.start();
+
+            List<Future<Object>> results = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < TASKS; i++) {
+                    User user = User.builder()
+                            .id((long) i)
+                            .email("pinning-" + i + "@test.local")
+                            .firstName("Pinning")
+                            .lastName("Check")
+                            .role(Role.ROLE_USER)
+                            .build();
+                    results.add(executor.submit(() -> {
+                        String token = jwtService.generateToken(user);
+                        jwtService.resolvePrincipal(token).orElseThrow();
+                        exhibitService.searchExhibits("karabin", null, 20);
+                        reservationService.getAvailability(today, today.plusDays(30));
+                        return null;
+                    }));
+                }
+            }
+
+            for (Future<Object> result : results) {
+                result.get();
+            }
+
+            recording.stop();
+            Path dump = Files.createTempFile("virtual-thread-pinning", ".jfr");
+            try {
+                recording.dump(dump);
+                List<RecordedEvent> pinned = RecordingFile.readAllEvents(dump);
+
+                assertThat(pinned)
+                        .as("virtual threads pinned while blocking")
+                        .extracting(event -> String.valueOf(event.getStackTrace()))
+                        .isEmpty();
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+        }
+    }
+}
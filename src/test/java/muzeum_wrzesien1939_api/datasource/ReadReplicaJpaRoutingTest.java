@@ -0,0 +1,116 @@
+package muzeum_wrzesien1939_api.datasource;
+
+import muzeum_wrzesien1939_api.config.CacheConfig;
+import muzeum_wrzesien1939_api.donation.entity.Donation;
+import muzeum_wrzesien1939_api.donation.entity.DonationJob;
+import muzeum_wrzesien1939_api.donation.entity.DonationJobType;
+import muzeum_wrzesien1939_api.donation.entity.DonationStatus;
+import muzeum_wrzesien1939_api.donation.repository.DonationRepository;
+import muzeum_wrzesien1939_api.donation.service.DonationReviewPipeline;
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitSearchCriteria;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitRequest;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitResponse;
+import muzeum_wrzesien1939_api.exhibit.service.ExhibitService;
+import muzeum_wrzesien1939_api.user.entity.Role;
+import muzeum_wrzesien1939_api.user.entity.User;
+import muzeum_wrzesien1939_api.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Routing through the real JPA stack: JpaTransactionManager, HibernateJpaDialect and
+ * provider_disables_autocommit must mark the lazy connection read-only before its first statement.
+ * The test database doubles as the only replica.
+ */
+@SpringBootTest(properties = "application.datasource.replicas.urls=${spring.datasource.url}")
+class ReadReplicaJpaRoutingTest {
+
+    @MockitoSpyBean
+    private ReplicaPool replicaPool;
+
+    @Autowired
+    private ExhibitService exhibitService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DonationReviewPipeline pipeline;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void readOnlyServiceCallRunsOnReplicaAndWritesOnPrimary() {
+        clearInvocations(replicaPool);
+        exhibitService.getCatalogVersion();
+        verify(replicaPool, atLeastOnce()).borrow();
+
+        clearInvocations(replicaPool);
+        ExhibitResponse created = exhibitService.createExhibit(ExhibitRequest.builder()
+                .name("Routing check")
+                .category(ExhibitCategory.DOCUMENTS)
+                .build());
+        exhibitService.deleteExhibit(created.getId());
+        verify(replicaPool, never()).borrow();
+    }
+
+    @Test
+    void cachedCatalogReadsRunOnPrimary() {
+        ExhibitResponse created = exhibitService.createExhibit(ExhibitRequest.builder()
+                .name("Routing cache check")
+                .category(ExhibitCategory.DOCUMENTS)
+                .build());
+        try {
+            cacheManager.getCache(CacheConfig.EXHIBITS).evict(created.getId());
+
+            clearInvocations(replicaPool);
+            assertThat(exhibitService.getExhibitById(created.getId()).body().getName()).isEqualTo("Routing cache check");
+            assertThat(exhibitService.getAllExhibits(
+                    new ExhibitSearchCriteria("Routing cache check", null, null), null, 10).body().getItems()).hasSize(1);
+            verify(replicaPool, never()).borrow();
+        } finally {
+            exhibitService.deleteExhibit(created.getId());
+        }
+    }
+
+    @Test
+    void donationPipelineReadsOnPrimary() {
+        User donor = userRepository.save(User.builder()
+                .email("routing-" + UUID.randomUUID() + "@test.local")
+                .password("not-used")
+                .firstName("Routing")
+                .lastName("Check")
+                .role(Role.ROLE_USER)
+                .build());
+        Donation donation = donationRepository.save(Donation.builder()
+                .itemName("Routing check donation")
+                .status(DonationStatus.PENDING)
+                .donor(donor)
+                .build());
+        try {
+            clearInvocations(replicaPool);
+            pipeline.run(DonationJob.queued(donation.getId(), DonationJobType.DETECT_DUPLICATES));
+            pipeline.run(DonationJob.queued(donation.getId(), DonationJobType.NOTIFY_REVIEWERS));
+            verify(replicaPool, never()).borrow();
+        } finally {
+            donationRepository.deleteById(donation.getId());
+            userRepository.deleteById(donor.getId());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package muzeum_wrzesien1939_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import muzeum_wrzesien1939_api.config.ReadReplicaConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaRoutingTest {
+
+    private HikariDataSource primary;
+    private Connection primaryConnection;
+    private ReplicaPool replicaPool;
+    private Connection replicaConnection;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private DataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(HikariDataSource.class);
+        primaryConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        replicaPool = mock(ReplicaPool.class);
+        replicaConnection = mock(Connection.class);
+        when(replicaPool.borrow()).thenReturn(replicaConnection);
+
+        routing = new ReadReplicaConfig().dataSource(primary, replicaPool, new ReadYourWritesTracker(Duration.ofSeconds(10)));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionRunsOnReplica() throws SQLException {
+        runStatement(readOnly);
+
+        verify(replicaConnection).createStatement();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void readWriteTransactionRunsOnPrimary() throws SQLException {
+        runStatement(readWrite);
+
+        verify(primaryConnection).createStatement();
+        verify(replicaPool, never()).borrow();
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenNoReplicaIsHealthy() throws SQLException {
+        when(replicaPool.borrow()).thenReturn(null);
+
+        runStatement(readOnly);
+
+        verify(primaryConnection).createStatement();
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() throws SQLException {
+        logIn("visitor@test.local");
+        runStatement(readWrite);
+        runStatement(readOnly);
+
+        verify(primaryConnection, times(2)).createStatement();
+        verify(replicaPool, never()).borrow();
+
+        // Other users are not affected by that write
+        logIn("other@test.local");
+        runStatement(readOnly);
+        verify(replicaConnection).createStatement();
+    }
+
+    @Test
+    void primaryReadsSkipTheReplica() throws SQLException {
+        PrimaryReads.call(() -> {
+            runStatement(readOnly);
+            return null;
+        });
+        runStatement(readOnly);
+
+        verify(primaryConnection).createStatement();
+        verify(replicaConnection).createStatement();
+        verify(replicaPool, times(1)).borrow();
+    }
+
+    @Test
+    void transactionWithoutStatementsBorrowsNoConnection() throws SQLException {
+        readOnly.executeWithoutResult(status -> DataSourceUtils.getConnection(routing));
+
+        verify(primary, never()).getConnection();
+        verify(replicaPool, never()).borrow();
+    }
+
+    private void runStatement(TransactionTemplate template) {
+        template.executeWithoutResult(status -> {
+            try {
+                DataSourceUtils.getConnection(routing).createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static void logIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
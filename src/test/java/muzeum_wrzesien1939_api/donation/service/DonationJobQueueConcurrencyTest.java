@@ -0,0 +1,113 @@
+package muzeum_wrzesien1939_api.donation.service;
+
+import muzeum_wrzesien1939_api.donation.entity.Donation;
+import muzeum_wrzesien1939_api.donation.entity.DonationJob;
+import muzeum_wrzesien1939_api.donation.entity.DonationJobType;
+import muzeum_wrzesien1939_api.donation.entity.DonationStatus;
+import muzeum_wrzesien1939_api.donation.repository.DonationJobRepository;
+import muzeum_wrzesien1939_api.donation.repository.DonationRepository;
+import muzeum_wrzesien1939_api.user.entity.Role;
+import muzeum_wrzesien1939_api.user.entity.User;
+import muzeum_wrzesien1939_api.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: each worker needs its own transaction and connection, as in production.
+// The jobs are due only in 2099, so the background workers of this and other contexts leave them alone.
+@SpringBootTest
+class DonationJobQueueConcurrencyTest {
+
+    private static final Instant RUN_AT = Instant.parse("2099-01-01T00:00:00Z");
+    private static final Instant WORKER_CLOCK = Instant.parse("2100-01-01T00:00:00Z");
+
+    @Autowired
+    private DonationJobRepository jobRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User donor;
+    private Donation donation;
+
+    @BeforeEach
+    void setUp() {
+        donor = userRepository.save(User.builder()
+                .email("donation-queue-" + UUID.randomUUID() + "@test.local")
+                .password("not-used")
+                .firstName("Donation")
+                .lastName("Queue")
+                .role(Role.ROLE_USER)
+                .build());
+        donation = donationRepository.save(Donation.builder()
+                .itemName("Szabla wz. 34 testowa")
+                .status(DonationStatus.PENDING)
+                .donor(donor)
+                .build());
+        for (int i = 0; i < 2; i++) {
+            DonationJob job = DonationJob.queued(donation.getId(), DonationJobType.NORMALIZE_IMAGE);
+            job.setRunAt(RUN_AT);
+            jobRepository.save(job);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Its jobs are deleted with it (ON DELETE CASCADE)
+        donationRepository.delete(donation);
+        userRepository.delete(donor);
+    }
+
+    @Test
+    void secondWorkerSkipsTheJobLockedByTheFirst() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Long> first = executor.submit(() -> transactionTemplate.execute(status -> {
+            Long id = jobRepository.lockNextDue(WORKER_CLOCK).orElseThrow().getId();
+            locked.countDown();
+            await(release);
+            return id;
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Without SKIP LOCKED this would block until the first transaction ends
+        Future<Long> second = executor.submit(() -> transactionTemplate.execute(status ->
+                jobRepository.lockNextDue(WORKER_CLOCK).orElseThrow().getId()));
+        Long secondId = second.get(10, TimeUnit.SECONDS);
+        release.countDown();
+        Long firstId = first.get(10, TimeUnit.SECONDS);
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(secondId).isNotEqualTo(firstId);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
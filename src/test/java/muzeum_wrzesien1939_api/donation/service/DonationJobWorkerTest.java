@@ -0,0 +1,185 @@
+package muzeum_wrzesien1939_api.donation.service;
+
+import jakarta.persistence.EntityManager;
+import muzeum_wrzesien1939_api.donation.entity.Donation;
+import muzeum_wrzesien1939_api.donation.entity.DonationJob;
+import muzeum_wrzesien1939_api.donation.entity.DonationJobStatus;
+import muzeum_wrzesien1939_api.donation.entity.DonationJobType;
+import muzeum_wrzesien1939_api.donation.entity.DonationStatus;
+import muzeum_wrzesien1939_api.donation.repository.DonationJobRepository;
+import muzeum_wrzesien1939_api.donation.repository.DonationRepository;
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import muzeum_wrzesien1939_api.user.entity.Role;
+import muzeum_wrzesien1939_api.user.entity.User;
+import muzeum_wrzesien1939_api.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// The worker's transactions join the test transaction, so the background workers never see these rows
+@SpringBootTest(properties = "application.donations.jobs.max-attempts=3")
+@Transactional
+class DonationJobWorkerTest {
+
+    // Before every job of other tests, so runNext() picks the job under test first
+    private static final Instant LONG_AGO = Instant.parse("2000-01-01T00:00:00Z");
+
+    @Autowired
+    private DonationJobWorker worker;
+
+    @MockitoSpyBean
+    private DonationReviewPipeline pipeline;
+
+    @Autowired
+    private DonationJobRepository jobRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private ExhibitRepository exhibitRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void pipelineRunsEveryStepAndFlagsSimilarExhibit() {
+        Exhibit exhibit = exhibitRepository.save(Exhibit.builder()
+                .name("Lornetka polowa Zeiss testowa")
+                .category(ExhibitCategory.EQUIPMENT)
+                .build());
+        Donation donation = donation("Zeiss lornetka polowa testowa");
+        jobRepository.save(DonationJob.queued(donation.getId(), DonationJobType.NORMALIZE_IMAGE));
+
+        while (worker.runNext()) {
+            // drain the queue
+        }
+
+        entityManager.clear();
+        assertThat(jobRepository.findAll())
+                .filteredOn(job -> job.getDonationId().equals(donation.getId()))
+                .extracting(DonationJob::getType, DonationJob::getStatus, DonationJob::getAttempts)
+                .containsExactlyInAnyOrder(
+                        tuple(DonationJobType.NORMALIZE_IMAGE, DonationJobStatus.DONE, 1),
+                        tuple(DonationJobType.DETECT_DUPLICATES, DonationJobStatus.DONE, 1),
+                        tuple(DonationJobType.NOTIFY_REVIEWERS, DonationJobStatus.DONE, 1));
+
+        Donation processed = donationRepository.findById(donation.getId()).orElseThrow();
+        assertThat(processed.getPossibleDuplicateExhibitId()).isEqualTo(exhibit.getId());
+        assertThat(processed.getProcessedAt()).isNotNull();
+    }
+
+    @Test
+    void failedStepIsRetriedWithBackoffUntilMaxAttempts() {
+        Donation donation = donation("Bagnet wz. 28 testowy");
+        doThrow(new RuntimeException("Scanner offline"))
+                .when(pipeline).run(argThat(job -> job.getDonationId().equals(donation.getId())));
+        Long id = job(donation, DonationJobStatus.QUEUED, 0, LONG_AGO).getId();
+
+        Instant before = Instant.now();
+        worker.runNext();
+        DonationJob first = reload(id);
+        assertThat(first.getStatus()).isEqualTo(DonationJobStatus.QUEUED);
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getRunAt()).isBetween(before.plusSeconds(30), Instant.now().plusSeconds(30));
+        assertThat(first.getLastError()).isEqualTo("Scanner offline");
+
+        makeDue(first);
+        before = Instant.now();
+        worker.runNext();
+        DonationJob second = reload(id);
+        assertThat(second.getStatus()).isEqualTo(DonationJobStatus.QUEUED);
+        assertThat(second.getAttempts()).isEqualTo(2);
+        assertThat(second.getRunAt()).isBetween(before.plus(Duration.ofMinutes(1)), Instant.now().plus(Duration.ofMinutes(1)));
+
+        makeDue(second);
+        worker.runNext();
+        DonationJob last = reload(id);
+        assertThat(last.getStatus()).isEqualTo(DonationJobStatus.FAILED);
+        assertThat(last.getAttempts()).isEqualTo(3);
+        assertThat(jobRepository.findAll()).filteredOn(job -> job.getDonationId().equals(donation.getId())).hasSize(1);
+    }
+
+    @Test
+    void jobWithExpiredLeaseIsClaimedAgain() {
+        Donation donation = donation("Menażka wz. 31 testowa");
+        Long expired = job(donation, DonationJobStatus.RUNNING, 1, LONG_AGO).getId();
+        Long leased = job(donation, DonationJobStatus.RUNNING, 1, Instant.now().plus(Duration.ofMinutes(5))).getId();
+
+        worker.runNext();
+
+        assertThat(reload(expired))
+                .extracting(DonationJob::getStatus, DonationJob::getAttempts)
+                .containsExactly(DonationJobStatus.DONE, 2);
+        assertThat(reload(leased))
+                .extracting(DonationJob::getStatus, DonationJob::getAttempts)
+                .containsExactly(DonationJobStatus.RUNNING, 1);
+    }
+
+    @Test
+    void jobWhoseLeaseExpiredOnTheLastAttemptFailsWithoutRunning() {
+        Donation donation = donation("Hełm wz. 31 testowy");
+        Long id = job(donation, DonationJobStatus.RUNNING, 3, LONG_AGO).getId();
+
+        worker.runNext();
+
+        DonationJob abandoned = reload(id);
+        assertThat(abandoned.getStatus()).isEqualTo(DonationJobStatus.FAILED);
+        assertThat(abandoned.getAttempts()).isEqualTo(3);
+        assertThat(abandoned.getLastError()).startsWith("Lease expired 3 times");
+        verify(pipeline, never()).run(argThat(job -> job.getDonationId().equals(donation.getId())));
+    }
+
+    private Donation donation(String itemName) {
+        User donor = userRepository.save(User.builder()
+                .email("donation-jobs-" + UUID.randomUUID() + "@test.local")
+                .password("not-used")
+                .firstName("Donation")
+                .lastName("Jobs")
+                .role(Role.ROLE_USER)
+                .build());
+        return donationRepository.save(Donation.builder()
+                .itemName(itemName)
+                .status(DonationStatus.PENDING)
+                .donor(donor)
+                .build());
+    }
+
+    private DonationJob job(Donation donation, DonationJobStatus status, int attempts, Instant runAt) {
+        DonationJob job = DonationJob.queued(donation.getId(), DonationJobType.NORMALIZE_IMAGE);
+        job.setStatus(status);
+        job.setAttempts(attempts);
+        job.setRunAt(runAt);
+        return jobRepository.saveAndFlush(job);
+    }
+
+    private void makeDue(DonationJob job) {
+        job.setRunAt(LONG_AGO);
+        jobRepository.saveAndFlush(job);
+        entityManager.clear();
+    }
+
+    // finishAttempt is a bulk update, so the persistence context still holds the claimed state
+    private DonationJob reload(Long id) {
+        entityManager.clear();
+        return jobRepository.findById(id).orElseThrow();
+    }
+}
@@ -0,0 +1,87 @@
+package muzeum_wrzesien1939_api.donation.service;
+
+import muzeum_wrzesien1939_api.config.CacheConfig;
+import muzeum_wrzesien1939_api.donation.entity.Donation;
+import muzeum_wrzesien1939_api.donation.entity.DonationStatus;
+import muzeum_wrzesien1939_api.donation.repository.DonationRepository;
+import muzeum_wrzesien1939_api.exception.ConflictException;
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import muzeum_wrzesien1939_api.user.entity.Role;
+import muzeum_wrzesien1939_api.user.entity.User;
+import muzeum_wrzesien1939_api.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class DonationPromoteTest {
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private ExhibitRepository exhibitRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Donation donation;
+
+    @BeforeEach
+    void setUp() {
+        User donor = userRepository.save(User.builder()
+                .email("donation-promote-" + UUID.randomUUID() + "@test.local")
+                .password("not-used")
+                .firstName("Donation")
+                .lastName("Promote")
+                .role(Role.ROLE_USER)
+                .build());
+        donation = donationRepository.save(Donation.builder()
+                .itemName("Legitymacja ZHP testowa")
+                .description("Wydana w sierpniu 1939")
+                .status(DonationStatus.PENDING)
+                .donor(donor)
+                .build());
+    }
+
+    @Test
+    void acceptedDonationBecomesExhibitOnce() {
+        DonationResponse promoted = donationService.updateStatus(donation.getId(), DonationStatus.ACCEPTED, true,
+                ExhibitCategory.DOCUMENTS);
+
+        assertThat(promoted.getExhibitId()).isNotNull();
+        Exhibit exhibit = exhibitRepository.findById(promoted.getExhibitId()).orElseThrow();
+        assertThat(exhibit.getName()).isEqualTo("Legitymacja ZHP testowa");
+        assertThat(exhibit.getCategory()).isEqualTo(ExhibitCategory.DOCUMENTS);
+        // The test transaction never commits, so the new exhibit must not have reached the cache
+        assertThat(cacheManager.getCache(CacheConfig.EXHIBITS).get(promoted.getExhibitId())).isNull();
+
+        assertThatThrownBy(() -> donationService.updateStatus(donation.getId(), DonationStatus.ACCEPTED, true, null))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Donation is already exhibit " + promoted.getExhibitId());
+    }
+
+    @Test
+    void onlyAcceptedDonationCanBePromoted() {
+        assertThatThrownBy(() -> donationService.updateStatus(donation.getId(), DonationStatus.PENDING, true, null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Only accepted donations can become exhibits");
+    }
+}
@@ -0,0 +1,67 @@
+package muzeum_wrzesien1939_api.exhibit.service;
+
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import muzeum_wrzesien1939_api.export.ExportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ExhibitExportTest {
+
+    @Autowired
+    private ExhibitService exhibitService;
+
+    @Autowired
+    private ExhibitImportService importService;
+
+    @Autowired
+    private ExhibitRepository exhibitRepository;
+
+    @Test
+    void csvExportEscapesValuesAndCoversTheWholeCatalog() {
+        String csv = "name,category,description\n\"Mundur, oficerski\",UNIFORMS,\"=1+1 \"\"wz. 36\"\"\nkurtka\"\n";
+        importService.importExhibits(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ExhibitImportFormat.CSV);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exhibitService.exportExhibits(ExportFormat.CSV, out);
+
+        String export = out.toString(StandardCharsets.UTF_8);
+        assertThat(exported).isEqualTo(exhibitRepository.count());
+        assertThat(export).startsWith("\uFEFFid,name,category,productionYear,description,imageId,updatedAt\r\n");
+        // Plain CSV keeps the text as stored, so the file can be imported again unchanged
+        assertThat(export).contains(",\"Mundur, oficerski\",UNIFORMS,,\"=1+1 \"\"wz. 36\"\"\nkurtka\",,");
+    }
+
+    @Test
+    void spreadsheetCsvGuardsFormulas() {
+        String csv = "name,category,description\nManierka,EVERYDAY_OBJECTS,=HYPERLINK(\"x\")\n";
+        importService.importExhibits(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ExhibitImportFormat.CSV);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exhibitService.exportExhibits(ExportFormat.SPREADSHEET_CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains(",Manierka,EVERYDAY_OBJECTS,,\"'=HYPERLINK(\"\"x\"\")\",,");
+    }
+
+    @Test
+    void ndjsonExportWritesOneObjectPerLine() {
+        String ndjson = "{\"name\":\"Ryngraf\",\"category\":\"EVERYDAY_OBJECTS\",\"productionYear\":\"1938\"}\n";
+        importService.importExhibits(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ExhibitImportFormat.NDJSON);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exhibitService.exportExhibits(ExportFormat.NDJSON, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).lines())
+                .hasSize((int) exported)
+                .anyMatch(line -> line.contains("\"name\":\"Ryngraf\",\"category\":\"EVERYDAY_OBJECTS\",\"productionYear\":\"1938\""));
+    }
+}
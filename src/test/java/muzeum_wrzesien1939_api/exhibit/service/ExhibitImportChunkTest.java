@@ -0,0 +1,96 @@
+package muzeum_wrzesien1939_api.exhibit.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import muzeum_wrzesien1939_api.config.CacheConfig;
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: every chunk has to commit on its own, as it does in production
+@SpringBootTest(properties = "application.exhibits.import-batch-size=2")
+class ExhibitImportChunkTest {
+
+    private static final String PREFIX = "Import chunk test ";
+
+    @Autowired
+    private ExhibitImportService importService;
+
+    @Autowired
+    private ExhibitService exhibitService;
+
+    @Autowired
+    private ExhibitRepository exhibitRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void cleanUp() {
+        exhibitRepository.deleteAll(exhibitRepository.findAll().stream()
+                .filter(exhibit -> exhibit.getName().startsWith(PREFIX))
+                .toList());
+    }
+
+    @Test
+    void rejectedChunkIsRetriedRowByRow() {
+        // PostgreSQL refuses NUL characters in text, which no validation rule catches
+        String csv = "name,category,description\n"
+                + PREFIX + "A,DOCUMENTS,\n"
+                + PREFIX + "B,DOCUMENTS,zero \u0000 byte\n"
+                + PREFIX + "C,DOCUMENTS,\n"
+                + PREFIX + "D,DOCUMENTS,\n";
+
+        ExhibitImportResponse result = importService.importExhibits(stream(csv), ExhibitImportFormat.CSV);
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(ExhibitImportResponse.RowError::getLine).containsExactly(3L);
+        assertThat(importedNames()).containsExactlyInAnyOrder(PREFIX + "A", PREFIX + "C", PREFIX + "D");
+    }
+
+    @Test
+    void unparsableRowEndsTheImportWithReportAndFreshCatalogPages() {
+        exhibitService.getAllExhibits(null, null, 10);
+        assertThat(exhibitPages().estimatedSize()).isPositive();
+        String csv = "name,category,description\n"
+                + PREFIX + "E,DOCUMENTS,\n"
+                + PREFIX + "F,DOCUMENTS,\n"
+                + PREFIX + "G,DOCUMENTS,\"quote never closed\n"
+                + PREFIX + "H,DOCUMENTS,\n";
+
+        ExhibitImportResponse result = importService.importExhibits(stream(csv), ExhibitImportFormat.CSV);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(4L);
+            assertThat(error.getMessage()).startsWith("Unterminated quoted field starting on line 4");
+        });
+        assertThat(importedNames()).containsExactlyInAnyOrder(PREFIX + "E", PREFIX + "F");
+        assertThat(exhibitPages().estimatedSize()).isZero();
+    }
+
+    private List<String> importedNames() {
+        return exhibitRepository.findAll().stream()
+                .map(Exhibit::getName)
+                .filter(name -> name.startsWith(PREFIX))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> exhibitPages() {
+        return (Cache<Object, Object>) cacheManager.getCache(CacheConfig.EXHIBIT_PAGES).getNativeCache();
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
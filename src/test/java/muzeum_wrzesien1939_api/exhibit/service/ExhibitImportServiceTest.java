@@ -0,0 +1,76 @@
+package muzeum_wrzesien1939_api.exhibit.service;
+
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import muzeum_wrzesien1939_api.monitoring.StatementCount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static muzeum_wrzesien1939_api.monitoring.StatementAssertions.assertAtMostStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ExhibitImportServiceTest {
+
+    @Autowired
+    private ExhibitImportService importService;
+
+    @Autowired
+    private ExhibitRepository exhibitRepository;
+
+    @Test
+    void csvRowsAreInsertedInBatchesAndInvalidRowsReported() {
+        StringBuilder csv = new StringBuilder("\uFEFFname;category;Production Year;description\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append("Hełm wz. 31 nr ").append(i).append(";uniforms;1931;\"Stan dobry; \"\"oryginalny\"\"\nlakier\"\n");
+        }
+        csv.append(";PHOTOS;1939;\n");
+        csv.append("Mapa;MAPS;1939;\n");
+        long before = exhibitRepository.count();
+
+        AtomicReference<ExhibitImportResponse> response = new AtomicReference<>();
+        StatementCount statements = assertAtMostStatements(20,
+                () -> response.set(importService.importExhibits(stream(csv.toString()), ExhibitImportFormat.CSV)));
+
+        ExhibitImportResponse result = response.get();
+        assertThat(result.getTotalRows()).isEqualTo(202);
+        assertThat(result.getImported()).isEqualTo(200);
+        assertThat(result.getErrors()).extracting(ExhibitImportResponse.RowError::getLine).containsExactly(402L, 403L);
+        assertThat(result.getErrors()).extracting(ExhibitImportResponse.RowError::getMessage)
+                .containsExactly("Name is required", "Unknown category: MAPS");
+        assertThat(statements.inserts()).isLessThan(10);
+        assertThat(exhibitRepository.count()).isEqualTo(before + 200);
+        assertThat(exhibitRepository.findAll()).anySatisfy(exhibit -> {
+            assertThat(exhibit.getCategory()).isEqualTo(ExhibitCategory.UNIFORMS);
+            assertThat(exhibit.getDescription()).isEqualTo("Stan dobry; \"oryginalny\"\nlakier");
+        });
+    }
+
+    @Test
+    void ndjsonRowsAreValidatedPerLine() {
+        String ndjson = """
+                {"name":"Karabin Mauser wz. 29","category":"WEAPONRY","productionYear":"1935"}
+
+                {"name":"Orzełek","category":"UNKNOWN"}
+                {"name":"Legitymacja","category":"DOCUMENTS","description":"%s"}
+                """.formatted("x".repeat(2001));
+
+        ExhibitImportResponse result = importService.importExhibits(stream(ndjson), ExhibitImportFormat.NDJSON);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ExhibitImportResponse.RowError::getLine).containsExactly(3L, 4L);
+        assertThat(result.getErrors().get(1).getMessage()).isEqualTo("Description is longer than 2000 characters");
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
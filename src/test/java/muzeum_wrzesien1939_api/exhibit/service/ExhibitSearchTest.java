@@ -0,0 +1,42 @@
+package muzeum_wrzesien1939_api.exhibit.service;
+
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ExhibitSearchTest {
+
+    @Autowired
+    private ExhibitService exhibitService;
+
+    @Autowired
+    private ExhibitRepository exhibitRepository;
+
+    @Test
+    void termsWithDiacriticsAreHighlightedAndDescriptionIsEscaped() {
+        Exhibit exhibit = exhibitRepository.saveAndFlush(Exhibit.builder()
+                .name("Hełm wz. 31 testowy")
+                .description("Hełm <script>alert(1)</script> noszony przez żołnierza 7 DP & Armii Kraków, sygnatura qzxtestowa")
+                .category(ExhibitCategory.UNIFORMS)
+                .build());
+
+        ExhibitSearchHitResponse hit = exhibitService.searchExhibits("zolnierza helm qzxtestowa", null, 10).getItems().stream()
+                .filter(h -> h.getId().equals(exhibit.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(hit.getSnippet())
+                .contains("<mark>Hełm</mark>")
+                .contains("<mark>żołnierza</mark>")
+                .contains("DP &amp; Armii")
+                .doesNotContain("<script>");
+    }
+}
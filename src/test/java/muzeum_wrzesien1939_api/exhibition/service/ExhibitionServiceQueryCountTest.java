@@ -0,0 +1,74 @@
+package muzeum_wrzesien1939_api.exhibition.service;
+
+import jakarta.persistence.EntityManager;
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import muzeum_wrzesien1939_api.exhibition.entity.Exhibition;
+import muzeum_wrzesien1939_api.exhibition.repository.ExhibitionRepository;
+import muzeum_wrzesien1939_api.monitoring.StatementCount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static muzeum_wrzesien1939_api.monitoring.StatementAssertions.assertAtMostStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ExhibitionServiceQueryCountTest {
+
+    @Autowired
+    private ExhibitionService exhibitionService;
+
+    @Autowired
+    private ExhibitionRepository exhibitionRepository;
+
+    @Autowired
+    private ExhibitRepository exhibitRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void listAssemblyIssuesConstantNumberOfStatements() {
+        createExhibitions(3);
+        StatementCount fewExhibitions = countStatementsOfListPage();
+
+        createExhibitions(30);
+        StatementCount manyExhibitions = countStatementsOfListPage();
+
+        assertThat(manyExhibitions.total()).isEqualTo(fewExhibitions.total());
+        assertThat(manyExhibitions.selects()).isEqualTo(manyExhibitions.total());
+    }
+
+    private StatementCount countStatementsOfListPage() {
+        entityManager.flush();
+        entityManager.clear();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        // The two version stamps of the page, the exhibitions and the summaries of their exhibits
+        return assertAtMostStatements(4, () -> exhibitionService.getAllExhibitions(null, 200));
+    }
+
+    private void createExhibitions(int count) {
+        IntStream.range(0, count).forEach(i -> {
+            List<Exhibit> exhibits = exhibitRepository.saveAll(List.of(
+                    Exhibit.builder().name("Query count exhibit A" + i).category(ExhibitCategory.OTHER).build(),
+                    Exhibit.builder().name("Query count exhibit B" + i).category(ExhibitCategory.OTHER).build()
+            ));
+            exhibitionRepository.save(Exhibition.builder()
+                    .name("Query count exhibition " + i)
+                    .exhibits(exhibits)
+                    .build());
+        });
+    }
+}
@@ -0,0 +1,162 @@
+package muzeum_wrzesien1939_api.export;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import muzeum_wrzesien1939_api.donation.entity.Donation;
+import muzeum_wrzesien1939_api.donation.entity.DonationStatus;
+import muzeum_wrzesien1939_api.donation.repository.DonationRepository;
+import muzeum_wrzesien1939_api.donation.service.DonationService;
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import muzeum_wrzesien1939_api.exhibition.entity.Exhibition;
+import muzeum_wrzesien1939_api.exhibition.repository.ExhibitionRepository;
+import muzeum_wrzesien1939_api.exhibition.service.ExhibitionService;
+import muzeum_wrzesien1939_api.reservation.entity.Reservation;
+import muzeum_wrzesien1939_api.reservation.repository.ReservationRepository;
+import muzeum_wrzesien1939_api.reservation.service.ReservationService;
+import muzeum_wrzesien1939_api.user.entity.Role;
+import muzeum_wrzesien1939_api.user.entity.User;
+import muzeum_wrzesien1939_api.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ExportStreamsTest {
+
+    // One more than a fetch, so every export below clears the persistence context mid-stream
+    private static final int ROWS = Integer.parseInt(ExportWriter.FETCH_SIZE) + 1;
+
+    @Autowired
+    private ExhibitionService exhibitionService;
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ExhibitRepository exhibitRepository;
+
+    @Autowired
+    private ExhibitionRepository exhibitionRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exhibitionExportAggregatesExhibitIds() {
+        Exhibit first = exhibit("Export test bagnet");
+        Exhibit second = exhibit("Export test pochwa");
+        Exhibition full = exhibitionRepository.save(Exhibition.builder()
+                .name("Export test wystawa")
+                .exhibits(new ArrayList<>(List.of(second, first)))
+                .build());
+        Exhibition empty = exhibitionRepository.save(Exhibition.builder()
+                .name("Export test pusta wystawa")
+                .exhibits(new ArrayList<>())
+                .build());
+        entityManager.flush();
+
+        List<Map<String, Object>> rows = export(out -> exhibitionService.exportExhibitions(ExportFormat.NDJSON, out));
+
+        assertThat(rows).filteredOn(row -> full.getId().equals(id(row))).singleElement()
+                .satisfies(row -> assertThat(row.get("exhibitIds")).isEqualTo(first.getId() + " " + second.getId()));
+        assertThat(rows).filteredOn(row -> empty.getId().equals(id(row))).singleElement()
+                .satisfies(row -> assertThat(row.get("exhibitIds")).isNull());
+    }
+
+    @Test
+    void donationExportKeepsDonorsAcrossClearedFetches() {
+        User donor = user();
+        donationRepository.saveAll(IntStream.range(0, ROWS)
+                .mapToObj(i -> Donation.builder().itemName("Export test dar " + i).status(DonationStatus.PENDING).donor(donor).build())
+                .toList());
+        entityManager.flush();
+
+        List<Map<String, Object>> rows = export(out -> donationService.exportDonations(ExportFormat.NDJSON, out));
+
+        assertThat(rows).filteredOn(row -> donor.getEmail().equals(row.get("donorEmail"))).hasSize(ROWS);
+        assertThat(entityManager.contains(donor)).as("persistence context cleared during the export").isFalse();
+    }
+
+    @Test
+    void reservationExportKeepsUsersAcrossClearedFetches() {
+        User visitor = user();
+        LocalDate day = LocalDate.now().plusYears(5);
+        reservationRepository.saveAll(IntStream.range(0, ROWS)
+                .mapToObj(i -> Reservation.builder().visitDate(day).visitTime(LocalTime.of(10, 0)).numberOfGuests(1).user(visitor).build())
+                .toList());
+        entityManager.flush();
+
+        List<Map<String, Object>> rows = export(out -> reservationService.exportReservations(ExportFormat.NDJSON, out));
+
+        assertThat(rows).filteredOn(row -> visitor.getEmail().equals(row.get("userEmail"))).hasSize(ROWS);
+        assertThat(entityManager.contains(visitor)).as("persistence context cleared during the export").isFalse();
+    }
+
+    private Exhibit exhibit(String name) {
+        return exhibitRepository.save(Exhibit.builder().name(name).category(ExhibitCategory.WEAPONRY).build());
+    }
+
+    private User user() {
+        return userRepository.save(User.builder()
+                .email("export-" + UUID.randomUUID() + "@test.local")
+                .password("not-used")
+                .firstName("Export")
+                .lastName("Test")
+                .role(Role.ROLE_USER)
+                .build());
+    }
+
+    private List<Map<String, Object>> export(Consumer<OutputStream> export) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.accept(out);
+        return out.toString(StandardCharsets.UTF_8).lines().map(this::parse).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parse(String line) {
+        try {
+            return objectMapper.readValue(line, Map.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Long id(Map<String, Object> row) {
+        return ((Number) row.get("id")).longValue();
+    }
+}
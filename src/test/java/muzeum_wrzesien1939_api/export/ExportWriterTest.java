@@ -0,0 +1,62 @@
+package muzeum_wrzesien1939_api.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ExportWriterTest {
+
+    private static final List<ExportColumn<String>> COLUMNS = List.of(ExportColumn.of("value", value -> value));
+
+    private EntityManager entityManager;
+    private ExportWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        writer = new ExportWriter(new ObjectMapper());
+        ReflectionTestUtils.setField(writer, "entityManager", entityManager);
+    }
+
+    @Test
+    void persistenceContextIsClearedEveryFetch() {
+        long count = writer.write(IntStream.range(0, 1_001).mapToObj(String::valueOf), ExportFormat.NDJSON, COLUMNS,
+                new ByteArrayOutputStream());
+
+        assertThat(count).isEqualTo(1_001);
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void formulasAreOnlyGuardedForSpreadsheets() {
+        assertThat(csv(ExportFormat.CSV, "=SUM(A1)", "-5 cm")).isEqualTo("\uFEFFvalue\r\n=SUM(A1)\r\n-5 cm\r\n");
+        assertThat(csv(ExportFormat.SPREADSHEET_CSV, "=SUM(A1)", "-5 cm")).isEqualTo("\uFEFFvalue\r\n'=SUM(A1)\r\n'-5 cm\r\n");
+    }
+
+    @Test
+    void spreadsheetOptionRequiresCsv() {
+        assertThat(ExportFormat.fromParam("csv", true)).isEqualTo(ExportFormat.SPREADSHEET_CSV);
+        assertThat(ExportFormat.fromParam(null, false)).isEqualTo(ExportFormat.NDJSON);
+        assertThatThrownBy(() -> ExportFormat.fromParam("ndjson", true)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> ExportFormat.fromParam("spreadsheet_csv", false)).isInstanceOf(RuntimeException.class);
+    }
+
+    private String csv(ExportFormat format, String... values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(List.of(values).stream(), format, COLUMNS, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
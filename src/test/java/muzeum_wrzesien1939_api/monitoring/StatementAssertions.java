@@ -0,0 +1,21 @@
+package muzeum_wrzesien1939_api.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement-count assertions for integration tests. On failure the message lists the executed SQL,
+ * which makes an N+1 pattern obvious at a glance.
+ */
+public final class StatementAssertions {
+
+    private StatementAssertions() {
+    }
+
+    public static StatementCount assertAtMostStatements(int max, Runnable action) {
+        StatementCount count = StatementCounter.measure(action);
+        assertThat(count.total())
+                .as("statements executed:%n%s", String.join(System.lineSeparator(), count.sql()))
+                .isLessThanOrEqualTo(max);
+        return count;
+    }
+}
@@ -0,0 +1,140 @@
+package muzeum_wrzesien1939_api.reservation.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import muzeum_wrzesien1939_api.exception.ConflictException;
+import muzeum_wrzesien1939_api.reservation.entity.Reservation;
+import muzeum_wrzesien1939_api.reservation.entity.SlotOccupancy;
+import muzeum_wrzesien1939_api.reservation.repository.ReservationRepository;
+import muzeum_wrzesien1939_api.reservation.repository.SlotOccupancyRepository;
+import muzeum_wrzesien1939_api.user.entity.Role;
+import muzeum_wrzesien1939_api.user.entity.User;
+import muzeum_wrzesien1939_api.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "application.reservations.slot-capacity=25")
+class ReservationServiceConcurrencyTest {
+
+    private static final int CAPACITY = 25;
+    private static final int BOOKINGS = 300;
+    private static final LocalTime SLOT = LocalTime.of(12, 0);
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SlotOccupancyRepository slotOccupancyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("concurrency-" + UUID.randomUUID() + "@test.local")
+                .password("not-used")
+                .firstName("Concurrency")
+                .lastName("Test")
+                .role(Role.ROLE_USER)
+                .build());
+
+        // A far-future weekday no other test or real visitor books
+        date = LocalDate.now().plusYears(10)
+                .with(TemporalAdjusters.next(DayOfWeek.WEDNESDAY))
+                .plusWeeks(ThreadLocalRandom.current().nextInt(1000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll(reservationRepository.findAllByUserId(user.getId()));
+        slotOccupancyRepository.findByVisitDateAndVisitTime(date, SLOT).ifPresent(slotOccupancyRepository::delete);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void parallelBookingsNeverOverbookASlot() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            int guests = 1 + i % 3;
+            results.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+                start.await();
+                try {
+                    reservationService.makeReservation(new ReservationRequest(date, SLOT, guests));
+                    return guests;
+                } catch (ConflictException e) {
+                    return 0;
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        double conflictsBefore = bookingCount("conflict");
+        double successesBefore = bookingCount("success");
+
+        start.countDown();
+        int acceptedGuests = 0;
+        int accepted = 0;
+        for (Future<Integer> result : results) {
+            int guests = result.get();
+            acceptedGuests += guests;
+            accepted += guests > 0 ? 1 : 0;
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        int storedGuests = reservationRepository.findAllByUserId(user.getId()).stream()
+                .filter(r -> r.getVisitDate().equals(date))
+                .mapToInt(Reservation::getNumberOfGuests)
+                .sum();
+        SlotOccupancy occupancy = slotOccupancyRepository.findByVisitDateAndVisitTime(date, SLOT).orElseThrow();
+
+        assertThat(storedGuests).isEqualTo(acceptedGuests);
+        assertThat(occupancy.getBookedGuests()).isEqualTo(storedGuests);
+        assertThat(storedGuests).isLessThanOrEqualTo(CAPACITY);
+        // Every request asks for at most 3 places, so the slot must end up (nearly) full
+        assertThat(storedGuests).isGreaterThan(CAPACITY - 3);
+
+        assertThat(bookingCount("success") - successesBefore).isEqualTo(accepted);
+        assertThat(bookingCount("conflict") - conflictsBefore).isEqualTo(BOOKINGS - accepted);
+    }
+
+    private double bookingCount(String outcome) {
+        return meterRegistry.counter("museum.reservations.bookings", "outcome", outcome).count();
+    }
+}
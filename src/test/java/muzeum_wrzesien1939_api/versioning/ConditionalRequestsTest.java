@@ -0,0 +1,87 @@
+package muzeum_wrzesien1939_api.versioning;
+
+import muzeum_wrzesien1939_api.config.CacheConfig;
+import muzeum_wrzesien1939_api.exhibit.entity.Exhibit;
+import muzeum_wrzesien1939_api.exhibit.entity.ExhibitCategory;
+import muzeum_wrzesien1939_api.exhibit.repository.ExhibitRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ConditionalRequestsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ExhibitRepository exhibitRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void cacheControlIsSentOnceOnFullAndNotModifiedResponses() throws Exception {
+        Exhibit exhibit = exhibitRepository.saveAndFlush(Exhibit.builder()
+                .name("Manierka wz. 31")
+                .category(ExhibitCategory.EVERYDAY_OBJECTS)
+                .build());
+
+        MockHttpServletResponse full = mockMvc.perform(get("/api/v1/exhibits/{id}", exhibit.getId()))
+                .andReturn().getResponse();
+        MockHttpServletResponse notModified = mockMvc.perform(get("/api/v1/exhibits/{id}", exhibit.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, full.getHeader(HttpHeaders.ETAG)))
+                .andReturn().getResponse();
+
+        assertThat(full.getStatus()).isEqualTo(200);
+        assertThat(full.getHeaders(HttpHeaders.CACHE_CONTROL)).containsExactly(ConditionalRequests.ITEM_CACHE_CONTROL.getHeaderValue());
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getHeaders(HttpHeaders.CACHE_CONTROL)).containsExactly(ConditionalRequests.ITEM_CACHE_CONTROL.getHeaderValue());
+    }
+
+    // Committed, so the read actually fills the cache (cache writes wait for the commit)
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void validatorsDescribeTheCachedBodyNotTheCurrentRow() throws Exception {
+        Exhibit exhibit = exhibitRepository.saveAndFlush(Exhibit.builder()
+                .name("Menażka wz. 31")
+                .category(ExhibitCategory.EVERYDAY_OBJECTS)
+                .build());
+        try {
+            MockHttpServletResponse cached = mockMvc.perform(get("/api/v1/exhibits/{id}", exhibit.getId()))
+                    .andReturn().getResponse();
+
+            // A write that bypasses the service leaves the cached entry in place until it expires
+            exhibit.setName("Menażka wz. 31 (opis poprawiony)");
+            exhibitRepository.saveAndFlush(exhibit);
+
+            MockHttpServletResponse stale = mockMvc.perform(get("/api/v1/exhibits/{id}", exhibit.getId()))
+                    .andReturn().getResponse();
+            MockHttpServletResponse revalidated = mockMvc.perform(get("/api/v1/exhibits/{id}", exhibit.getId())
+                            .header(HttpHeaders.IF_NONE_MATCH, cached.getHeader(HttpHeaders.ETAG)))
+                    .andReturn().getResponse();
+
+            assertThat(stale.getStatus()).isEqualTo(200);
+            assertThat(stale.getContentAsString()).doesNotContain("opis poprawiony");
+            assertThat(stale.getHeaders(HttpHeaders.ETAG)).containsExactly(cached.getHeader(HttpHeaders.ETAG));
+            assertThat(stale.getHeader(HttpHeaders.LAST_MODIFIED)).isEqualTo(cached.getHeader(HttpHeaders.LAST_MODIFIED));
+            // The body that would be served is the one the client already holds
+            assertThat(revalidated.getStatus()).isEqualTo(304);
+        } finally {
+            cacheManager.getCache(CacheConfig.EXHIBITS).evict(exhibit.getId());
+            exhibitRepository.deleteById(exhibit.getId());
+        }
+    }
+}
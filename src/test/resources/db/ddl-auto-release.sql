@@ -0,0 +1,23 @@
+-- A database of the last release before Flyway: the DDL Hibernate's ddl-auto=update ran for that
+-- release's entities (alphabetical columns, enum CHECKs, constraints added afterwards), plus a few rows.
+-- The constraint names are stand-ins for Hibernate's generated hashes; no migration refers to them.
+
+create table donations (id bigint generated by default as identity, created_at timestamp(6), description varchar(2000), image_url TEXT, item_name varchar(255) not null, status varchar(255) not null check (status in ('PENDING','ACCEPTED','REJECTED')), user_id bigint not null, primary key (id));
+create table exhibition_exhibits (exhibition_id bigint not null, exhibit_id bigint not null);
+create table exhibitions (id bigint generated by default as identity, background_image_url TEXT, description varchar(2000), name varchar(255) not null, primary key (id));
+create table exhibits (id bigint generated by default as identity, category varchar(255) not null check (category in ('UNIFORMS','EQUIPMENT','WEAPONRY','DOCUMENTS','PHOTOS','EVERYDAY_OBJECTS','OTHER')), description varchar(2000), image_url TEXT, name varchar(255) not null, production_year varchar(255), primary key (id));
+create table reservations (id bigint generated by default as identity, number_of_guests integer not null, visit_date date not null, visit_time time(6) not null, user_id bigint not null, primary key (id));
+create table users (id bigint generated by default as identity, email varchar(255) not null, first_name varchar(255), last_name varchar(255), password varchar(255) not null, role varchar(255) check (role in ('ROLE_USER','ROLE_ADMIN')), primary key (id));
+alter table if exists users add constraint uk_release_users_email unique (email);
+alter table if exists donations add constraint fk_release_donations_user foreign key (user_id) references users;
+alter table if exists exhibition_exhibits add constraint fk_release_exhibition_exhibits_exhibit foreign key (exhibit_id) references exhibits;
+alter table if exists exhibition_exhibits add constraint fk_release_exhibition_exhibits_exhibition foreign key (exhibition_id) references exhibitions;
+alter table if exists reservations add constraint fk_release_reservations_user foreign key (user_id) references users;
+
+insert into users (email, first_name, last_name, password, role) values ('release@test.local', 'Release', 'Test', 'not-used', 'ROLE_USER');
+insert into exhibits (category, description, image_url, name, production_year) values ('WEAPONRY', 'Bagnet do karabinu Mauser', 'data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==', 'Bagnet wz. 28', '1928');
+insert into exhibits (category, description, image_url, name, production_year) values ('DOCUMENTS', 'Bez zdjęcia', '', 'Legitymacja wz. 36', '1936');
+insert into exhibitions (background_image_url, description, name) values ('data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==', 'Uzbrojenie piechoty', 'Piechota 1939');
+insert into exhibition_exhibits (exhibition_id, exhibit_id) values (1, 1);
+insert into reservations (number_of_guests, visit_date, visit_time, user_id) values (3, '2039-09-01', '10:00', 1);
+insert into donations (created_at, image_url, item_name, status, user_id) values (now(), 'data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==', 'Menażka wz. 31', 'PENDING', 1);
@@ -68,7 +68,7 @@ export const AdminDonations: React.FC = () => {
                         {/* Thumbnail */}
                         <div className="h-16 w-16 rounded-xl bg-gray-200 overflow-hidden flex-shrink-0 border border-gray-100">
                             {item.imageUrl ? (
-                                <img src={item.imageUrl} alt="" className="w-full h-full object-cover" />
+                                <img src={item.thumbnailUrl || item.imageUrl} alt="" className="w-full h-full object-cover" loading="lazy" />
                             ) : (
                                 <div className="w-full h-full flex items-center justify-center text-gray-400 text-xs">No img</div>
                             )}
@@ -1,11 +1,11 @@
 import React, { useState, useEffect } from 'react';
 import { Plus, Save, Loader, UploadCloud, CheckCircle, Search, Edit, Trash2, Image } from 'lucide-react';
 import { adminService } from '@/services/adminService.ts';
-import { Exhibit, ExhibitCategory } from '@/types.ts';
-import imageCompression from 'browser-image-compression';
+import { ExhibitCategory, ExhibitSummary } from '@/types.ts';
+import { mediaService } from '@/services/mediaService.ts';
 
 export const AdminExhibitManager: React.FC = () => {
-    const [exhibits, setExhibits] = useState<Exhibit[]>([]);
+    const [exhibits, setExhibits] = useState<ExhibitSummary[]>([]);
     const [isLoading, setIsLoading] = useState(false);
     const [msg, setMsg] = useState('');
     const [editingId, setEditingId] = useState<number | null>(null);
@@ -35,11 +35,14 @@ export const AdminExhibitManager: React.FC = () => {
         if (file) {
             setIsLoading(true);
             try {
-                const compressed = await imageCompression(file, { maxSizeMB: 0.3, maxWidthOrHeight: 1280, useWebWorker: true });
-                const reader = new FileReader();
-                reader.onloadend = () => { setForm(p => ({ ...p, imageUrl: reader.result as string })); setIsLoading(false); };
-                reader.readAsDataURL(compressed);
-            } catch (e) { setIsLoading(false); }
+                // Oryginał trafia na serwer, miniatury generuje backend
+                const uploaded = await mediaService.upload(file);
+                setForm(p => ({ ...p, imageUrl: uploaded.url }));
+            } catch (e) {
+                alert("Nie udało się przesłać zdjęcia.");
+            } finally {
+                setIsLoading(false);
+            }
         }
     };
 
@@ -65,7 +68,8 @@ export const AdminExhibitManager: React.FC = () => {
         }
     };
 
-    const handleEdit = (ex: Exhibit) => {
+    const handleEdit = async (summary: ExhibitSummary) => {
+        const ex = await adminService.getExhibit(summary.id);
         setEditingId(ex.id);
         setForm({
             name: ex.name,
@@ -175,7 +179,7 @@ export const AdminExhibitManager: React.FC = () => {
                         <div key={ex.id} className="flex items-center justify-between p-4 bg-white rounded-2xl border border-gray-100 hover:shadow-md transition">
                             <div className="flex items-center gap-4">
                                 <div className="h-16 w-16 bg-gray-100 rounded-lg overflow-hidden flex-shrink-0 border border-gray-100">
-                                    {ex.imageUrl ? <img src={ex.imageUrl} alt="" className="w-full h-full object-cover" /> : <div className="w-full h-full flex items-center justify-center text-gray-300"><Image size={20}/></div>}
+                                    {ex.imageUrl ? <img src={ex.thumbnailUrl || ex.imageUrl} alt="" className="w-full h-full object-cover" /> : <div className="w-full h-full flex items-center justify-center text-gray-300"><Image size={20}/></div>}
                                 </div>
                                 <div>
                                     <div className="font-bold text-gray-900">{ex.name}</div>
@@ -1,12 +1,12 @@
 import React, { useState, useEffect } from 'react';
 import { Plus, Save, Image, Search, Check, Loader, Edit, Trash2 } from 'lucide-react';
 import { adminService } from '@/services/adminService.ts';
-import { Exhibit } from '@/types.ts';
-import imageCompression from 'browser-image-compression';
+import { ExhibitSummary } from '@/types.ts';
+import { mediaService } from '@/services/mediaService.ts';
 
 export const AdminExhibitionsManager: React.FC = () => {
     const [existingExhibitions, setExistingExhibitions] = useState<any[]>([]);
-    const [availableExhibits, setAvailableExhibits] = useState<Exhibit[]>([]);
+    const [availableExhibits, setAvailableExhibits] = useState<ExhibitSummary[]>([]);
     const [editingId, setEditingId] = useState<number | null>(null);
     const [isLoading, setIsLoading] = useState(false);
     const [searchTerm, setSearchTerm] = useState('');
@@ -33,11 +33,13 @@ export const AdminExhibitionsManager: React.FC = () => {
         if (file) {
             setIsLoading(true);
             try {
-                const compressed = await imageCompression(file, { maxSizeMB: 2.0, maxWidthOrHeight: 1920, useWebWorker: true });
-                const reader = new FileReader();
-                reader.onloadend = () => { setForm(p => ({ ...p, backgroundImageUrl: reader.result as string })); setIsLoading(false); };
-                reader.readAsDataURL(compressed);
-            } catch (e) { setIsLoading(false); }
+                const uploaded = await mediaService.upload(file);
+                setForm(p => ({ ...p, backgroundImageUrl: uploaded.url }));
+            } catch (e) {
+                alert("Nie udało się przesłać zdjęcia.");
+            } finally {
+                setIsLoading(false);
+            }
         }
     };
 
@@ -136,7 +138,7 @@ export const AdminExhibitionsManager: React.FC = () => {
                                 return (
                                     <div key={item.id} onClick={() => toggleExhibit(item.id)} className={`flex items-center gap-3 p-3 rounded-xl border cursor-pointer select-none ${isSelected ? 'bg-red-50 border-museum-red ring-1 ring-museum-red' : 'bg-white border-gray-200'}`}>
                                         <div className={`h-5 w-5 rounded border flex items-center justify-center flex-shrink-0 ${isSelected ? 'bg-museum-red border-museum-red' : 'border-gray-300 bg-white'}`}>{isSelected && <Check size={12} className="text-white" />}</div>
-                                        <div className="h-10 w-10 rounded-lg overflow-hidden bg-gray-200 flex-shrink-0">{item.imageUrl && <img src={item.imageUrl} alt="" className="h-full w-full object-cover" />}</div>
+                                        <div className="h-10 w-10 rounded-lg overflow-hidden bg-gray-200 flex-shrink-0">{item.imageUrl && <img src={item.thumbnailUrl || item.imageUrl} alt="" className="h-full w-full object-cover" />}</div>
                                         <div className="flex-1 min-w-0 font-medium text-sm text-gray-900 truncate">{item.name}</div>
                                     </div>
                                 );
@@ -158,7 +160,7 @@ export const AdminExhibitionsManager: React.FC = () => {
                     {existingExhibitions.map((ex) => (
                         <div key={ex.id} className="flex items-center justify-between p-4 bg-gray-50 rounded-2xl border border-gray-200 hover:shadow-md transition">
                             <div className="flex items-center gap-4">
-                                <div className="h-16 w-24 bg-gray-300 rounded-lg overflow-hidden flex-shrink-0">{ex.backgroundImageUrl ? <img src={ex.backgroundImageUrl} alt="" className="w-full h-full object-cover" /> : <div className="w-full h-full flex items-center justify-center text-gray-400"><Image size={20}/></div>}</div>
+                                <div className="h-16 w-24 bg-gray-300 rounded-lg overflow-hidden flex-shrink-0">{ex.backgroundImageUrl ? <img src={ex.backgroundCardUrl || ex.backgroundImageUrl} alt="" className="w-full h-full object-cover" /> : <div className="w-full h-full flex items-center justify-center text-gray-400"><Image size={20}/></div>}</div>
                                 <div><div className="font-bold text-gray-900">{ex.name}</div><div className="text-sm text-gray-500">Eksponaty: {ex.exhibits?.length || 0}</div></div>
                             </div>
                             <div className="flex gap-2">
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Calendar, Users, CheckCircle, Ticket, Plus, Minus, History, Loader, Clock, Info } from 'lucide-react';
 import { User } from '../types';
-import { bookingService, TimeSlot, ReservationEntry } from '../services/bookingService';
+import { bookingService, TimeSlot, ReservationEntry, DayAvailability } from '../services/bookingService';
 import { useNavigate } from 'react-router-dom';
 
 interface BookingProps {
@@ -18,6 +18,7 @@ const Booking: React.FC<BookingProps> = ({ user }) => {
 
     // Stan danych z API
     const [availableSlots, setAvailableSlots] = useState<TimeSlot[]>([]);
+    const [availability, setAvailability] = useState<Record<string, DayAvailability>>({});
     const [myReservations, setMyReservations] = useState<ReservationEntry[]>([]);
 
     // Stan UI
@@ -37,20 +38,43 @@ const Booking: React.FC<BookingProps> = ({ user }) => {
         }
     }, [user]);
 
-    // 2. Pobieranie slotów po zmianie daty
+    // 2. Dostępność całego miesiąca pobierana jednym zapytaniem
+    const loadMonth = async (day: string) => {
+        const [year, month] = day.split('-').map(Number);
+        const lastDay = new Date(year, month, 0).getDate();
+        const prefix = day.slice(0, 8);
+        const days = await bookingService.getAvailability(prefix + '01', prefix + String(lastDay).padStart(2, '0'));
+        setAvailability(prev => {
+            const next = { ...prev };
+            days.forEach(d => { next[d.date] = d; });
+            return next;
+        });
+    };
+
     useEffect(() => {
         if (date) {
-            setLoadingSlots(true);
             setSelectedTime(null);
-            bookingService.getAvailableSlots(date)
-                .then(data => setAvailableSlots(data))
-                .catch(err => console.error("Błąd slotów:", err))
-                .finally(() => setLoadingSlots(false));
+            if (!availability[date]) {
+                setLoadingSlots(true);
+                loadMonth(date)
+                    .catch(err => console.error("Błąd slotów:", err))
+                    .finally(() => setLoadingSlots(false));
+            }
         }
     }, [date]);
 
+    useEffect(() => {
+        setAvailableSlots(date && availability[date] ? availability[date].slots : []);
+    }, [date, availability]);
+
+    // Maksymalnie tyle osób, ile zostało wolnych miejsc w wybranym slocie
+    const remainingInSelectedSlot = availableSlots.find(s => s.time === selectedTime)?.remainingCapacity;
+
     const updateGuestCount = (delta: number) => {
-        setGuestCount(prev => Math.max(1, prev + delta)); // Minimum 1 osoba
+        setGuestCount(prev => {
+            const next = Math.max(1, prev + delta); // Minimum 1 osoba
+            return remainingInSelectedSlot !== undefined ? Math.min(next, remainingInSelectedSlot) : next;
+        });
     };
 
     const formatTime = (time: string) => time.slice(0, 5);
@@ -69,18 +93,37 @@ const Booking: React.FC<BookingProps> = ({ user }) => {
 
             setSuccess(true);
             setGuestCount(1);
+            loadMonth(date).catch(() => {});
             setSelectedTime(null);
 
             const history = await bookingService.getMyReservations();
             setMyReservations(history);
 
-        } catch (error) {
-            alert("Nie udało się zarezerwować. Ten termin mógł zostać właśnie zajęty.");
+        } catch (error: any) {
+            if (error?.response?.status === 409) {
+                alert("Brak wystarczającej liczby wolnych miejsc w tym terminie. Wybierz inną godzinę lub mniejszą grupę.");
+            } else {
+                alert("Nie udało się zarezerwować. Ten termin mógł zostać właśnie zajęty.");
+            }
+            loadMonth(date).catch(() => {});
         } finally {
             setSubmitting(false);
         }
     };
 
+    const handleCancel = async (reservation: ReservationEntry) => {
+        if (!window.confirm("Czy na pewno chcesz anulować tę rezerwację?")) return;
+        try {
+            await bookingService.cancelReservation(reservation.id);
+            setMyReservations(prev => prev.filter(r => r.id !== reservation.id));
+            if (availability[reservation.visitDate]) {
+                loadMonth(reservation.visitDate).catch(() => {});
+            }
+        } catch (error) {
+            alert("Nie udało się anulować rezerwacji.");
+        }
+    };
+
     if (!user) {
         return (
             <div className="pt-32 min-h-screen bg-gray-50 flex flex-col items-center justify-center px-4 text-center">
@@ -151,12 +194,19 @@ const Booking: React.FC<BookingProps> = ({ user }) => {
                                                 }`}
                                             >
                                                 {formatTime(slot.time)}
+                                                {!isTaken && slot.remainingCapacity !== undefined && (
+                                                    <span className="block text-xs font-normal opacity-70">wolne: {slot.remainingCapacity}</span>
+                                                )}
                                             </button>
                                         );
                                     })}
                                 </div>
                             ) : (
-                                <p className="text-gray-500">Brak wolnych terminów w tym dniu.</p>
+                                <p className="text-gray-500">
+                                    {availability[date] && !availability[date].open
+                                        ? 'Muzeum jest nieczynne w tym dniu.'
+                                        : 'Brak wolnych terminów w tym dniu.'}
+                                </p>
                             )}
                         </div>
                     )}
@@ -230,7 +280,12 @@ const Booking: React.FC<BookingProps> = ({ user }) => {
                                             <div className="font-bold text-gray-900">{r.visitDate}</div>
                                             <div className="text-gray-500">{formatTime(r.visitTime)} • Gości: {r.numberOfGuests}</div>
                                         </div>
-                                        <div className="bg-green-100 text-green-700 px-2 py-1 rounded-lg text-xs font-bold">AKTYWNA</div>
+                                        <div className="flex flex-col items-end gap-1">
+                                            <div className="bg-green-100 text-green-700 px-2 py-1 rounded-lg text-xs font-bold">AKTYWNA</div>
+                                            {r.visitDate >= new Date().toISOString().split('T')[0] && (
+                                                <button onClick={() => handleCancel(r)} className="text-xs text-gray-400 hover:text-museum-red transition">Anuluj</button>
+                                            )}
+                                        </div>
                                     </div>
                                 )) : <p className="text-gray-400 text-sm text-center py-2">Brak nadchodzących wizyt.</p>}
                             </div>
@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { Search, ChevronRight, Filter, Loader, ArrowUpDown, Box, X, Calendar, Tag, Info } from 'lucide-react';
-import { Exhibit, User, ExhibitCategory } from '../types';
+import { Exhibit, ExhibitSummary, User, ExhibitCategory } from '../types';
 import { exhibitService } from '../services/exhibitService';
 
 interface CatalogProps {
@@ -20,7 +20,7 @@ const CATEGORY_LABELS: Record<string, string> = {
 type SortOption = 'NEWEST' | 'OLDEST' | 'ALPHABETICAL';
 
 const Catalog: React.FC<CatalogProps> = () => {
-    const [exhibits, setExhibits] = useState<Exhibit[]>([]);
+    const [exhibits, setExhibits] = useState<ExhibitSummary[]>([]);
     const [loading, setLoading] = useState(true);
 
     const [searchTerm, setSearchTerm] = useState('');
@@ -43,6 +43,14 @@ const Catalog: React.FC<CatalogProps> = () => {
         fetchExhibits();
     }, []);
 
+    const openExhibit = async (item: ExhibitSummary) => {
+        try {
+            setSelectedExhibit(await exhibitService.getById(item.id));
+        } catch (error) {
+            console.error("Błąd pobierania eksponatu:", error);
+        }
+    };
+
     useEffect(() => {
         if (selectedExhibit) {
             document.body.style.overflow = 'hidden';
@@ -54,7 +62,7 @@ const Catalog: React.FC<CatalogProps> = () => {
     const processedExhibits = exhibits
         .filter(item => {
             const matchesSearch = item.name.toLowerCase().includes(searchTerm.toLowerCase()) ||
-                item.description.toLowerCase().includes(searchTerm.toLowerCase());
+                (item.excerpt || '').toLowerCase().includes(searchTerm.toLowerCase());
             const matchesCategory = selectedCategory === 'ALL' || item.category === selectedCategory;
             return matchesSearch && matchesCategory;
         })
@@ -139,10 +147,10 @@ const Catalog: React.FC<CatalogProps> = () => {
                     <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-8">
                         {processedExhibits.map(item => (
                             <div key={item.id} className="bg-white rounded-3xl overflow-hidden shadow-sm hover:shadow-2xl hover:-translate-y-1 transition duration-500 group flex flex-col h-full border border-gray-100">
-                                <div className="relative h-64 overflow-hidden bg-gray-100 cursor-pointer" onClick={() => setSelectedExhibit(item)}>
+                                <div className="relative h-64 overflow-hidden bg-gray-100 cursor-pointer" onClick={() => openExhibit(item)}>
                                     {item.imageUrl ? (
                                         <img
-                                            src={item.imageUrl}
+                                            src={item.thumbnailUrl || item.imageUrl}
                                             alt={item.name}
                                             className="w-full h-full object-cover group-hover:scale-105 transition duration-700 ease-out"
                                             loading="lazy"
@@ -163,10 +171,10 @@ const Catalog: React.FC<CatalogProps> = () => {
                                         {CATEGORY_LABELS[item.category] || item.category}
                                     </div>
                                     <h3 className="text-xl font-bold text-gray-900 mb-2 leading-tight line-clamp-2">{item.name}</h3>
-                                    <p className="text-gray-600 text-sm line-clamp-3 mb-4 flex-1">{item.description}</p>
+                                    <p className="text-gray-600 text-sm line-clamp-3 mb-4 flex-1">{item.excerpt}</p>
                                     <div className="mt-auto pt-4 border-t border-gray-100">
                                         <button
-                                            onClick={() => setSelectedExhibit(item)}
+                                            onClick={() => openExhibit(item)}
                                             className="w-full py-2.5 rounded-xl bg-gray-50 text-gray-900 font-bold text-sm hover:bg-museum-black hover:text-white transition-all flex items-center justify-center gap-2 group/btn"
                                         >
                                             Karta obiektu
@@ -212,7 +220,7 @@ const Catalog: React.FC<CatalogProps> = () => {
                         <div className="w-full md:w-1/2 bg-gray-100 relative min-h-[300px] md:min-h-full">
                             {selectedExhibit.imageUrl ? (
                                 <img
-                                    src={selectedExhibit.imageUrl}
+                                    src={selectedExhibit.fullUrl || selectedExhibit.imageUrl}
                                     alt={selectedExhibit.name}
                                     className="absolute inset-0 w-full h-full object-cover"
                                 />
@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { Gift, UploadCloud, Clock, CheckCircle, XCircle, Send, Loader, Image as ImageIcon } from 'lucide-react';
 import { User, Donation as DonationType } from '../types';
 import { donationService } from '../services/donationService';
+import { mediaService } from '../services/mediaService';
 import imageCompression from 'browser-image-compression';
 import { useNavigate } from 'react-router-dom';
 
@@ -52,11 +53,8 @@ const Donation: React.FC<DonationProps> = ({ user }) => {
 
                 const compressedFile = await imageCompression(file, options);
 
-                const reader = new FileReader();
-                reader.onloadend = () => {
-                    setForm(prev => ({ ...prev, imageUrl: reader.result as string }));
-                };
-                reader.readAsDataURL(compressedFile);
+                const uploaded = await mediaService.upload(compressedFile);
+                setForm(prev => ({ ...prev, imageUrl: uploaded.url }));
             } catch (err) {
                 alert("Błąd przetwarzania zdjęcia.");
             }
@@ -187,7 +185,7 @@ const Donation: React.FC<DonationProps> = ({ user }) => {
 
                                     <div className="h-20 w-20 bg-gray-100 rounded-xl flex-shrink-0 overflow-hidden">
                                         {item.imageUrl ? (
-                                            <img src={item.imageUrl} alt="" className="w-full h-full object-cover" />
+                                            <img src={item.thumbnailUrl || item.imageUrl} alt="" className="w-full h-full object-cover" />
                                         ) : (
                                             <div className="w-full h-full flex items-center justify-center"><ImageIcon size={20} className="text-gray-400"/></div>
                                         )}
@@ -36,7 +36,7 @@ const ExhibitionDetails: React.FC = () => {
             <div className="relative h-[60vh] w-full bg-gray-900">
                 {exhibition.backgroundImageUrl ? (
                     <img
-                        src={exhibition.backgroundImageUrl}
+                        src={exhibition.backgroundFullUrl || exhibition.backgroundImageUrl}
                         alt={exhibition.name}
                         className="w-full h-full object-cover opacity-80"
                     />
@@ -91,7 +91,7 @@ const ExhibitionDetails: React.FC = () => {
                                 <div key={item.id} className="bg-white rounded-2xl overflow-hidden shadow-sm hover:shadow-xl transition duration-300 group border border-gray-100 flex flex-col">
                                     <div className="h-48 overflow-hidden relative bg-gray-200">
                                         {item.imageUrl ? (
-                                            <img src={item.imageUrl} alt={item.name} className="w-full h-full object-cover group-hover:scale-105 transition duration-500" />
+                                            <img src={item.cardUrl || item.imageUrl} alt={item.name} loading="lazy" className="w-full h-full object-cover group-hover:scale-105 transition duration-500" />
                                         ) : (
                                             <div className="w-full h-full flex items-center justify-center text-gray-400"><Box size={32} opacity={0.5}/></div>
                                         )}
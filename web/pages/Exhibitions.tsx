@@ -2,10 +2,10 @@ import React, { useState, useEffect } from 'react';
 import { Landmark, MapPin, Loader, ArrowRight, Image as ImageIcon } from 'lucide-react';
 import { Link } from 'react-router-dom';
 import { exhibitionService } from '../services/exhibitionService';
-import { Exhibition } from '../types';
+import { ExhibitionSummary } from '../types';
 
 const Exhibitions: React.FC = () => {
-    const [exhibitions, setExhibitions] = useState<Exhibition[]>([]);
+    const [exhibitions, setExhibitions] = useState<ExhibitionSummary[]>([]);
     const [loading, setLoading] = useState(true);
 
     useEffect(() => {
@@ -45,7 +45,7 @@ const Exhibitions: React.FC = () => {
                                 <div className="md:w-1/2 h-64 md:h-96 overflow-hidden relative bg-gray-200">
                                     {exhibition.backgroundImageUrl ? (
                                         <img
-                                            src={exhibition.backgroundImageUrl}
+                                            src={exhibition.backgroundCardUrl || exhibition.backgroundImageUrl}
                                             alt={exhibition.name}
                                             className="w-full h-full object-cover group-hover:scale-105 transition duration-700 ease-out grayscale group-hover:grayscale-0"
                                         />
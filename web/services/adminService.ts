@@ -1,5 +1,5 @@
-import api from './api';
-import { Donation, Exhibit, ExhibitCategory, Exhibition } from '../types';
+import api, { fetchAllPages } from './api';
+import { Donation, Exhibit, ExhibitCategory, ExhibitSummary, Exhibition, ExhibitionSummary } from '../types';
 
 interface CreateExhibitRequest {
     name: string;
@@ -19,8 +19,7 @@ interface CreateExhibitionRequest {
 export const adminService = {
 
     getAllDonations: async () => {
-        const response = await api.get<Donation[]>('/donations');
-        return response.data;
+        return fetchAllPages<Donation>('/donations');
     },
 
     updateDonationStatus: async (id: number, status: 'ACCEPTED' | 'REJECTED') => {
@@ -46,7 +45,11 @@ export const adminService = {
     },
 
     getAllExhibits: async () => {
-        const response = await api.get<Exhibit[]>('/exhibits');
+        return fetchAllPages<ExhibitSummary>('/exhibits');
+    },
+
+    getExhibit: async (id: number) => {
+        const response = await api.get<Exhibit>(`/exhibits/${id}`);
         return response.data;
     },
 
@@ -66,7 +69,6 @@ export const adminService = {
     },
 
     getAllExhibitions: async () => {
-        const response = await api.get('/exhibitions');
-        return response.data;
+        return fetchAllPages<ExhibitionSummary>('/exhibitions');
     }
 };
\ No newline at end of file
@@ -23,4 +23,23 @@ api.interceptors.request.use(
     }
 );
 
+export interface CursorPage<T> {
+    items: T[];
+    nextCursor: string | null;
+}
+
+// Follows nextCursor until the last page; for views that still work on the whole collection.
+export const fetchAllPages = async <T>(url: string, params: Record<string, unknown> = {}): Promise<T[]> => {
+    const items: T[] = [];
+    let after: string | null = null;
+    do {
+        const response = await api.get<CursorPage<T>>(url, {
+            params: { ...params, limit: 200, ...(after ? { after } : {}) }
+        });
+        items.push(...response.data.items);
+        after = response.data.nextCursor;
+    } while (after);
+    return items;
+};
+
 export default api;
\ No newline at end of file
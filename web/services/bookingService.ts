@@ -1,8 +1,15 @@
-import api from './api';
+import api, { fetchAllPages } from './api';
 
 export interface TimeSlot {
     time: string;
     available: boolean;
+    remainingCapacity: number;
+}
+
+export interface DayAvailability {
+    date: string;
+    open: boolean;
+    slots: TimeSlot[];
 }
 
 export interface ReservationEntry {
@@ -29,11 +36,23 @@ export const bookingService = {
         return response.data;
     },
 
+    // Cały zakres dat (np. miesiąc) w jednym zapytaniu
+    getAvailability: async (from: string, to: string): Promise<DayAvailability[]> => {
+        const response = await api.get<DayAvailability[]>('/reservations/availability', {
+            params: { from, to }
+        });
+        return response.data;
+    },
+
     createReservation: async (data: ReservationRequest) => {
         const response = await api.post('/reservations', data);
         return response.data;
     },
 
+    cancelReservation: async (id: number) => {
+        await api.delete(`/reservations/${id}`);
+    },
+
     getMyReservations: async (): Promise<ReservationEntry[]> => {
         const response = await api.get<ReservationEntry[]>('/reservations/my');
         return response.data;
@@ -41,9 +60,6 @@ export const bookingService = {
 
     getByDate: async (date: string): Promise<ReservationEntry[]> => {
         // Backend: GET /api/v1/reservations/by-date?date=YYYY-MM-DD
-        const response = await api.get<ReservationEntry[]>('/reservations/by-date', {
-            params: { date }
-        });
-        return response.data;
+        return fetchAllPages<ReservationEntry>('/reservations/by-date', { date });
     }
 };
\ No newline at end of file
@@ -4,7 +4,7 @@ import { Donation } from '../types';
 interface CreateDonationRequest {
     itemName: string;
     description: string;
-    imageUrl: string; // Base64
+    imageUrl: string; // URL z POST /media
 }
 
 export const donationService = {
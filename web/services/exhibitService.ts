@@ -1,10 +1,9 @@
-import api from './api';
-import { Exhibit } from '../types';
+import api, { fetchAllPages } from './api';
+import { Exhibit, ExhibitSummary } from '../types';
 
 export const exhibitService = {
-    getAll: async (): Promise<Exhibit[]> => {
-        const response = await api.get<Exhibit[]>('/exhibits');
-        return response.data;
+    getAll: async (): Promise<ExhibitSummary[]> => {
+        return fetchAllPages<ExhibitSummary>('/exhibits');
     },
 
     getById: async (id: number): Promise<Exhibit> => {
@@ -1,10 +1,9 @@
-import api from './api';
-import { Exhibition } from '../types';
+import api, { fetchAllPages } from './api';
+import { Exhibition, ExhibitionSummary } from '../types';
 
 export const exhibitionService = {
-    getAll: async (): Promise<Exhibition[]> => {
-        const response = await api.get<Exhibition[]>('/exhibitions');
-        return response.data;
+    getAll: async (): Promise<ExhibitionSummary[]> => {
+        return fetchAllPages<ExhibitionSummary>('/exhibitions');
     },
 
     getById: async (id: number): Promise<Exhibition> => {
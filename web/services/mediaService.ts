@@ -0,0 +1,19 @@
+import api from './api';
+
+export interface UploadedMedia {
+    id: string;
+    url: string;
+    thumbnailUrl: string;
+}
+
+export const mediaService = {
+    // Plik wysyłany jako multipart/form-data zamiast base64 w JSON
+    upload: async (file: Blob): Promise<UploadedMedia> => {
+        const formData = new FormData();
+        formData.append('file', file);
+        const response = await api.post<UploadedMedia>('/media', formData, {
+            headers: { 'Content-Type': 'multipart/form-data' }
+        });
+        return response.data;
+    }
+};
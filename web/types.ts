@@ -18,6 +18,20 @@ export interface Exhibit {
   description: string;
   productionYear: string;
   imageUrl: string;
+  thumbnailUrl?: string;  // ~240 px, listy i miniatury
+  cardUrl?: string;       // ~640 px, karty
+  fullUrl?: string;       // ~1600 px, widok szczegółowy
+  category: ExhibitCategory;
+}
+
+export interface ExhibitSummary {
+  id: number;
+  name: string;
+  excerpt: string;
+  productionYear: string;
+  imageUrl: string;
+  thumbnailUrl?: string;
+  cardUrl?: string;
   category: ExhibitCategory;
 }
 
@@ -26,9 +40,19 @@ export interface Exhibition {
   name: string;
   description: string;
   backgroundImageUrl: string;
+  backgroundFullUrl?: string;
   exhibits: Exhibit[];
 }
 
+export interface ExhibitionSummary {
+  id: number;
+  name: string;
+  description: string;
+  backgroundImageUrl: string;
+  backgroundCardUrl?: string;
+  exhibits: ExhibitSummary[];
+}
+
 export interface User {
   id: number;
   email: string;
@@ -52,6 +76,7 @@ export interface Donation {
   itemName: string;
   description: string;
   imageUrl: string;
+  thumbnailUrl?: string;
   status: DonationStatus;
   createdAt: string;      // ISO Date String
   donorEmail: string;